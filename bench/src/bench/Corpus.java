@@ -0,0 +1,50 @@
+/**
+ * @ Description: Zbirka programov PINS za merjenje zmogljivosti.
+ */
+
+package bench;
+
+import static common.RequireNonNull.requireNonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class Corpus {
+    /**
+     * Oznaka v izvorni kodi, ki jo nadomestimo z velikostjo problema.
+     */
+    public static final String SIZE_PLACEHOLDER = "$N";
+
+    /**
+     * Ime programa, ki ga namesto branja iz zbirke ustvari `ProgramGenerator`
+     * (velikost problema je število funkcij).
+     */
+    public static final String GENERATED = "generated";
+
+    /**
+     * Mapa z zbirko (privzeto `bench/corpus`, nastavimo jo z `-Dpins.corpus=...`).
+     */
+    private static final Path directory = Path.of(System.getProperty("pins.corpus", "bench/corpus"));
+
+    private Corpus() {}
+
+    /**
+     * Prebere program iz zbirke in vanj vstavi velikost problema.
+     */
+    public static String load(String program, int size) {
+        requireNonNull(program);
+        if (program.equals(GENERATED)) {
+            var generator = new ProgramGenerator();
+            generator.functions = size;
+            return generator.generate();
+        }
+        try {
+            var source = Files.readString(directory.resolve(program + ".pins"));
+            return source.replace(SIZE_PLACEHOLDER, String.valueOf(size));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * @ Description: Merjenje posameznih faz prevajalnika in celotnega prevajanja.
+ */
+
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = { "-Xss64m" })
+public class PhaseBenchmarks {
+    /**
+     * Program iz zbirke in velikost problema; vse faze pred merjeno
+     * fazo izvedemo enkrat, pred začetkom merjenja.
+     */
+    @State(Scope.Benchmark)
+    public static class Compiled {
+        @Param({ "fib", "sort", "nest", "strings", "loops", "generated" })
+        public String program;
+
+        @Param({ "10", "100", "1000" })
+        public int size;
+
+        public Pipeline pipeline;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            pipeline = new Pipeline(Corpus.load(program, size)).compile();
+        }
+    }
+
+    /**
+     * Linearizirana koda v svežem pomnilniku za vsako izvedbo
+     * (interpreter spreminja pomnilnik).
+     */
+    @State(Scope.Thread)
+    public static class Linearized {
+        public Pipeline.Linearized linearized;
+
+        @Setup(Level.Invocation)
+        public void setup(Compiled compiled) {
+            linearized = compiled.pipeline.linearize();
+        }
+    }
+
+    @Benchmark
+    public Object lex(Compiled compiled) {
+        return new Pipeline(compiled.pipeline.source).lex();
+    }
+
+    @Benchmark
+    public Object parse(Compiled compiled) {
+        var pipeline = new Pipeline(compiled.pipeline.source);
+        pipeline.tokens = compiled.pipeline.tokens;
+        return pipeline.parse();
+    }
+
+    @Benchmark
+    public Object resolveNames(Compiled compiled) {
+        var pipeline = new Pipeline(compiled.pipeline.source);
+        pipeline.ast = compiled.pipeline.ast;
+        pipeline.nodeCount = compiled.pipeline.nodeCount;
+        return pipeline.resolveNames();
+    }
+
+    @Benchmark
+    public Object checkTypes(Compiled compiled) {
+        var pipeline = new Pipeline(compiled.pipeline.source);
+        pipeline.ast = compiled.pipeline.ast;
+        pipeline.nodeCount = compiled.pipeline.nodeCount;
+        pipeline.definitions = compiled.pipeline.definitions;
+        return pipeline.checkTypes();
+    }
+
+    @Benchmark
+    public Object evaluateFrames(Compiled compiled) {
+        var pipeline = new Pipeline(compiled.pipeline.source);
+        pipeline.ast = compiled.pipeline.ast;
+        pipeline.nodeCount = compiled.pipeline.nodeCount;
+        pipeline.definitions = compiled.pipeline.definitions;
+        pipeline.types = compiled.pipeline.types;
+        return pipeline.evaluateFrames();
+    }
+
+    @Benchmark
+    public Object generateIR(Compiled compiled) {
+        var pipeline = new Pipeline(compiled.pipeline.source);
+        pipeline.ast = compiled.pipeline.ast;
+        pipeline.nodeCount = compiled.pipeline.nodeCount;
+        pipeline.definitions = compiled.pipeline.definitions;
+        pipeline.types = compiled.pipeline.types;
+        pipeline.frames = compiled.pipeline.frames;
+        pipeline.accesses = compiled.pipeline.accesses;
+        return pipeline.generateIR();
+    }
+
+    @Benchmark
+    public Object linearize(Compiled compiled) {
+        return compiled.pipeline.linearize();
+    }
+
+    @Benchmark
+    public void interpret(Linearized linearized) {
+        Pipeline.interpret(linearized.linearized);
+    }
+
+    @Benchmark
+    public void runJvm(Linearized linearized) {
+        Pipeline.runJvm(linearized.linearized);
+    }
+
+    @Benchmark
+    public void endToEnd(Compiled compiled, Blackhole blackhole) {
+        var pipeline = new Pipeline(compiled.pipeline.source).compile();
+        var linearized = pipeline.linearize();
+        Pipeline.interpret(linearized);
+        blackhole.consume(linearized);
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * @ Description: Faze prevajalnika, kot jih zaporedoma izvede `Main`,
+ * ločene za merjenje zmogljivosti.
+ */
+
+package bench;
+
+import java.util.List;
+import java.util.Optional;
+
+import cli.PINS.SymbolTableKind;
+import compiler.frm.Access;
+import compiler.frm.Frame;
+import compiler.frm.FrameEvaluator;
+import compiler.gen.LinCodeGenerator;
+import compiler.gen.Memory;
+import compiler.gen.WordMemory;
+import compiler.interpret.Interpreter;
+import compiler.ir.IRCodeGenerator;
+import compiler.ir.chunk.Chunk;
+import compiler.jvm.JvmGenerator;
+import compiler.lexer.Lexer;
+import compiler.lexer.TokenStream;
+import compiler.parser.Parser;
+import compiler.parser.ast.Ast;
+import compiler.parser.ast.def.Def;
+import compiler.seman.common.ArrayNodeDescription;
+import compiler.seman.common.NodeDescription;
+import compiler.seman.name.NameChecker;
+import compiler.seman.name.env.ArraySymbolTable;
+import compiler.seman.name.env.FastSymbolTable;
+import compiler.seman.name.env.SimpleSymbolTable;
+import compiler.seman.name.env.SymbolTable;
+import compiler.seman.type.TypeChecker;
+import compiler.seman.type.type.Type;
+
+public class Pipeline {
+    /**
+     * Velikost pomnilnika navideznega stroja (dovolj za globoko rekurzijo).
+     */
+    public static final int MEMORY_SIZE = 1 << 20;
+
+    // --- rezultati posameznih faz ---
+
+    public final String source;
+
+    /**
+     * Implementacija simbolne tabele pri razreševanju imen.
+     */
+    public SymbolTableKind symbolTable = SymbolTableKind.ARRAY;
+
+    public TokenStream tokens;
+    public Ast ast;
+
+    /**
+     * Število vozlišč programa; velikost preslikav iz vozlišč v vrednosti.
+     */
+    public int nodeCount;
+    public NodeDescription<Def> definitions;
+    public NodeDescription<Type> types;
+    public NodeDescription<Frame> frames;
+    public NodeDescription<Access> accesses;
+    public List<Chunk> chunks;
+
+    public Pipeline(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Izvede vse faze do vključno generiranja vmesne kode.
+     */
+    public Pipeline compile() {
+        lex();
+        parse();
+        resolveNames();
+        checkTypes();
+        evaluateFrames();
+        generateIR();
+        return this;
+    }
+
+    public TokenStream lex() {
+        return tokens = new Lexer(source).scan();
+    }
+
+    public Ast parse() {
+        var parser = new Parser(tokens.cursor(), Optional.empty());
+        ast = parser.parse();
+        nodeCount = parser.nodeCount();
+        return ast;
+    }
+
+    public NodeDescription<Def> resolveNames() {
+        definitions = new ArrayNodeDescription<>(nodeCount);
+        ast.accept(new NameChecker(definitions, symbolTable(symbolTable)));
+        return definitions;
+    }
+
+    public NodeDescription<Type> checkTypes() {
+        types = new ArrayNodeDescription<>(nodeCount);
+        ast.accept(new TypeChecker(definitions, types));
+        return types;
+    }
+
+    public NodeDescription<Frame> evaluateFrames() {
+        frames = new ArrayNodeDescription<>(nodeCount);
+        accesses = new ArrayNodeDescription<>(nodeCount);
+        ast.accept(new FrameEvaluator(frames, accesses, definitions, types));
+        return frames;
+    }
+
+    public List<Chunk> generateIR() {
+        var generator = new IRCodeGenerator(new ArrayNodeDescription<>(nodeCount), frames, accesses, definitions, types);
+        ast.accept(generator);
+        return chunks = generator.chunks;
+    }
+
+    /**
+     * Ustvari prazno simbolno tabelo podane implementacije.
+     */
+    public static SymbolTable symbolTable(SymbolTableKind kind) {
+        return switch (kind) {
+            case SIMPLE -> new SimpleSymbolTable();
+            case FAST -> new FastSymbolTable();
+            case ARRAY -> new ArraySymbolTable();
+        };
+    }
+
+    /**
+     * Linearizira vmesno kodo v nov pomnilnik.
+     */
+    public Linearized linearize() {
+        var memory = new WordMemory(MEMORY_SIZE);
+        var main = new LinCodeGenerator(memory).generateCode(chunks);
+        return new Linearized(memory, main.orElseThrow());
+    }
+
+    /**
+     * Izvede linearizirano kodo (brez izpisa).
+     */
+    public static void interpret(Linearized linearized) {
+        new Interpreter(linearized.memory, Optional.empty()).interpret(linearized.main);
+    }
+
+    /**
+     * Prevede linearizirano kodo v bajtno kodo JVM in jo izvede (brez izpisa).
+     * Če programa ni mogoče prevesti, ga izvede interpreter (kot `Main`).
+     */
+    public static void runJvm(Linearized linearized) {
+        try {
+            new JvmGenerator(linearized.memory).generate(linearized.main).run(Optional.empty());
+        } catch (JvmGenerator.UnsupportedException e) {
+            interpret(linearized);
+        }
+    }
+
+    /**
+     * Linearizirana koda in pomnilnik, v katerega je shranjena.
+     */
+    public static class Linearized {
+        public final Memory memory;
+        public final Chunk.CodeChunk main;
+
+        Linearized(Memory memory, Chunk.CodeChunk main) {
+            this.memory = memory;
+            this.main = main;
+        }
+    }
+}
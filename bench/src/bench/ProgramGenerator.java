@@ -0,0 +1,289 @@
+/**
+ * @ Description: Generator naključnih (a deterministično ponovljivih)
+ * pravilno tipiziranih programov PINS za merjenje skaliranja prevajalnika.
+ */
+
+package bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import ArgPar.Annotation.ParsableCommand;
+import ArgPar.Annotation.ParsableOption;
+import ArgPar.Exception.ParseException;
+import ArgPar.Parser.ArgumentParser;
+
+@ParsableCommand(commandName = "PINSGEN", description = "Generator programov PINS")
+public class ProgramGenerator {
+    /**
+     * Seme generatorja naključnih števil.
+     */
+    @ParsableOption(name = "--seed")
+    public int seed = 42;
+
+    /**
+     * Število funkcij na najvišjem nivoju.
+     */
+    @ParsableOption(name = "--functions")
+    public int functions = 100;
+
+    /**
+     * Število globalnih spremenljivk.
+     */
+    @ParsableOption(name = "--globals")
+    public int globals = 10;
+
+    /**
+     * Globina gnezdenja funkcij v `where`.
+     */
+    @ParsableOption(name = "--nesting")
+    public int nesting = 2;
+
+    /**
+     * Število stavkov v telesu funkcije in v telesu zanke.
+     */
+    @ParsableOption(name = "--statements")
+    public int statements = 8;
+
+    /**
+     * Število ponovitev zank `for` in `while`.
+     */
+    @ParsableOption(name = "--iterations")
+    public int iterations = 10;
+
+    /**
+     * Velikost lokalnih tabel.
+     */
+    @ParsableOption(name = "--array")
+    public int arraySize = 16;
+
+    /**
+     * Največja dolžina verige klicev med funkcijami najvišjega nivoja.
+     */
+    @ParsableOption(name = "--call-depth")
+    public int callDepth = 3;
+
+    /**
+     * Izhodna datoteka (privzeto standardni izhod).
+     */
+    @ParsableOption(name = "--out")
+    public String out = "";
+
+    // --- stanje generiranja ---
+
+    private Random random;
+    private StringBuilder sb;
+    private int nestedCount;
+
+    public static void main(String[] args) throws IOException {
+        ProgramGenerator generator;
+        try {
+            generator = new ArgumentParser<ProgramGenerator>(ProgramGenerator.class).parse(args);
+        } catch (ParseException __) {
+            System.exit(2);
+            return;
+        }
+        var program = generator.generate();
+        if (generator.out.isEmpty()) {
+            System.out.print(program);
+        } else {
+            Files.writeString(Path.of(generator.out), program);
+        }
+    }
+
+    /**
+     * Ustvari program; za enake nastavitve je rezultat vedno enak.
+     *
+     * Program se vedno konča: funkcija kliče le funkcije z manjšim indeksom
+     * (veriga klicev je dolga največ `callDepth`), zanke imajo konstantno
+     * število ponovitev, vse spremenljivke so inicializirane pred branjem,
+     * tabele pa indeksiramo le znotraj meja.
+     */
+    public String generate() {
+        random = new Random(seed);
+        sb = new StringBuilder();
+        nestedCount = 0;
+
+        for (int g = 0; g < globals; g++) {
+            line(0, "var g" + g + ":integer;");
+        }
+        line(0, "typ table:arr[" + arraySize + "]integer;");
+        for (int f = 0; f < functions; f++) {
+            var scope = new Scope(null);
+            for (int g = 0; g < globals; g++) {
+                scope.ints.add("g" + g);
+            }
+            var callee = f % (callDepth + 1) != 0 ? "f" + (f - 1) : null;
+            function(0, "f" + f, scope, callee, nesting);
+            sb.append(";\n");
+        }
+        main();
+        return sb.toString();
+    }
+
+    // --------- definicije ----------
+
+    private void main() {
+        line(0, "fun main(x:integer):integer = (");
+        for (int g = 0; g < globals; g++) {
+            line(1, "{g" + g + " = " + random.nextInt(100) + "},");
+        }
+        line(1, "{s = 0},");
+        for (int f = 0; f < functions; f++) {
+            line(1, "{s = s + f" + f + "(" + random.nextInt(100) + ") % 1000},");
+        }
+        line(1, "print_int(s),");
+        line(1, "0");
+        line(0, ") {where var s:integer}");
+    }
+
+    /**
+     * Funkcija z enim celoštevilskim parametrom.
+     */
+    private void function(int indent, String name, Scope outer, String callee, int depth) {
+        var scope = new Scope(outer);
+        var param = name + "p";
+        scope.ints.add(param);
+        var locals = new ArrayList<String>();
+        for (int v = 0; v < 3; v++) {
+            locals.add(name + "v" + v);
+        }
+        var logical = name + "b";
+        var table = name + "a";
+        var index = name + "i";
+        var counter = name + "w";
+
+        String nested = null;
+        if (depth > 0) {
+            nested = "h" + nestedCount++;
+        }
+
+        line(indent, "fun " + name + "(" + param + ":integer):integer = (");
+        // Inicializacija lokalnih spremenljivk
+        for (var local : locals) {
+            line(indent + 1, "{" + local + " = " + intExpr(scope, 1) + "},");
+            scope.ints.add(local);
+        }
+        line(indent + 1, "{" + logical + " = " + logExpr(scope, 1) + "},");
+        scope.logicals.add(logical);
+        line(indent + 1, "{for " + index + " = 0, " + arraySize + ", 1 : {" + table + "[" + index + "] = " + index + " * " + param + "}},");
+        scope.tables.add(table);
+
+        for (int s = 0; s < statements; s++) {
+            line(indent + 1, statement(scope, index, counter, locals) + ",");
+        }
+        if (callee != null) {
+            line(indent + 1, "{" + pick(locals) + " = " + callee + "(" + intExpr(scope, 1) + ")},");
+        }
+        if (nested != null) {
+            line(indent + 1, "{" + pick(locals) + " = " + nested + "(" + intExpr(scope, 1) + ")},");
+        }
+        line(indent + 1, pick(locals));
+        line(indent, ") {where");
+        for (var local : locals) {
+            line(indent + 1, "var " + local + ":integer;");
+        }
+        line(indent + 1, "var " + logical + ":logical;");
+        line(indent + 1, "var " + table + ":table;");
+        line(indent + 1, "var " + index + ":integer;");
+        sb.append(" ".repeat((indent + 1) * 2)).append("var ").append(counter).append(":integer");
+        if (nested != null) {
+            sb.append(";\n");
+            function(indent + 1, nested, scope, null, depth - 1);
+        }
+        sb.append("\n");
+        line(indent, "}");
+        sb.setLength(sb.length() - 1);
+    }
+
+    // --------- stavki ----------
+
+    private String statement(Scope scope, String index, String counter, List<String> locals) {
+        return switch (random.nextInt(5)) {
+            case 0 -> "{" + pick(locals) + " = " + intExpr(scope, 3) + "}";
+            case 1 -> "{if " + logExpr(scope, 2) + " then {" + pick(locals) + " = " + intExpr(scope, 2)
+                    + "} else {" + pick(locals) + " = " + intExpr(scope, 2) + "}}";
+            case 2 -> "{for " + index + " = 0, " + iterations + ", 1 : (" + loopBody(scope, locals) + ")}";
+            case 3 -> "({" + counter + " = 0}, {while " + counter + " < " + iterations + " : ("
+                    + loopBody(scope, locals) + ", {" + counter + " = " + counter + " + 1})}, " + counter + ")";
+            default -> "{" + pick(scope.tables) + "[" + random.nextInt(arraySize) + "] = " + intExpr(scope, 2) + "}";
+        };
+    }
+
+    /**
+     * Stavki telesa zanke, ločeni z vejicami; zadnji je prireditev.
+     */
+    private String loopBody(Scope scope, List<String> locals) {
+        var body = new StringBuilder();
+        for (int s = 0; s < statements; s++) {
+            if (s > 0) body.append(", ");
+            // Zadnji element bloka mora biti izraz
+            if (s == statements - 1 || random.nextBoolean()) {
+                body.append("{").append(pick(locals)).append(" = ").append(intExpr(scope, 2)).append("}");
+            } else {
+                body.append("{if ").append(logExpr(scope, 1)).append(" then {")
+                    .append(pick(locals)).append(" = ").append(intExpr(scope, 2)).append("}}");
+            }
+        }
+        return body.toString();
+    }
+
+    // --------- izrazi ----------
+
+    private String intExpr(Scope scope, int depth) {
+        var choice = depth <= 0 ? random.nextInt(3) : random.nextInt(6);
+        return switch (choice) {
+            case 0 -> String.valueOf(random.nextInt(100));
+            case 1 -> pick(scope.ints);
+            case 2 -> scope.tables.isEmpty()
+                    ? pick(scope.ints)
+                    : pick(scope.tables) + "[" + random.nextInt(arraySize) + "]";
+            case 3 -> "(" + intExpr(scope, depth - 1) + " " + pick(List.of("+", "-", "*")) + " " + intExpr(scope, depth - 1) + ")";
+            case 4 -> "(" + intExpr(scope, depth - 1) + " " + pick(List.of("/", "%")) + " " + (1 + random.nextInt(9)) + ")";
+            default -> "-" + intExpr(scope, depth - 1);
+        };
+    }
+
+    private String logExpr(Scope scope, int depth) {
+        var choice = depth <= 0 ? random.nextInt(2) : random.nextInt(5);
+        return switch (choice) {
+            case 0 -> random.nextBoolean() ? "true" : "false";
+            case 1 -> "(" + intExpr(scope, 0) + " " + pick(List.of("==", "!=", "<", ">", "<=", ">=")) + " " + intExpr(scope, 0) + ")";
+            case 2 -> "(" + logExpr(scope, depth - 1) + " " + pick(List.of("&", "|")) + " " + logExpr(scope, depth - 1) + ")";
+            case 3 -> "!" + logExpr(scope, depth - 1);
+            default -> scope.logicals.isEmpty() ? "true" : pick(scope.logicals);
+        };
+    }
+
+    // ----------- pomožne funkcije -----------
+
+    private <T> T pick(List<T> list) {
+        return list.get(random.nextInt(list.size()));
+    }
+
+    private void line(int indent, String text) {
+        sb.append(" ".repeat(indent * 2)).append(text).append("\n");
+    }
+
+    /**
+     * Spremenljivke, vidne v funkciji (vključno s spremenljivkami
+     * okoliških funkcij, do katerih dostopamo prek statične povezave).
+     */
+    private static class Scope {
+        final List<String> ints = new ArrayList<>();
+        final List<String> logicals = new ArrayList<>();
+        final List<String> tables = new ArrayList<>();
+
+        Scope(Scope outer) {
+            if (outer != null) {
+                ints.addAll(outer.ints);
+                logicals.addAll(outer.logicals);
+                tables.addAll(outer.tables);
+            }
+        }
+    }
+}
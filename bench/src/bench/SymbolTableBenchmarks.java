@@ -0,0 +1,105 @@
+/**
+ * @ Description: Primerjava implementacij simbolne tabele.
+ */
+
+package bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import cli.PINS.SymbolTableKind;
+import compiler.lexer.Position;
+import compiler.parser.ast.def.Def;
+import compiler.parser.ast.def.VarDef;
+import compiler.parser.ast.type.Atom;
+import compiler.seman.name.env.SymbolTable.DefinitionAlreadyExistsException;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = { "-Xss64m" })
+public class SymbolTableBenchmarks {
+    /**
+     * Število lokalnih definicij v posameznem nivoju gnezdenja.
+     */
+    private static final int LOCALS = 4;
+
+    /**
+     * Sintetična obremenitev: <code>names</code> globalnih definicij, nato za vsako
+     * ime nov nivo z nekaj lokalnimi definicijami (ki prekrijejo sosednja imena)
+     * in iskanjem okoliških imen.
+     */
+    @State(Scope.Benchmark)
+    public static class Definitions {
+        @Param({ "SIMPLE", "FAST", "ARRAY" })
+        public SymbolTableKind table;
+
+        @Param({ "100", "10000" })
+        public int names;
+
+        public Def[] globals;
+        public Def[] locals;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            var position = new Position(0, 0, 0, 0);
+            var nodeId = 0;
+            var type = Atom.INT(position, nodeId++);
+            globals = new Def[names];
+            locals = new Def[names];
+            for (int id = 0; id < names; id++) {
+                globals[id] = new VarDef(position, nodeId++, "g" + id, id, type);
+                locals[id] = new VarDef(position, nodeId++, "l" + id, id, type);
+            }
+        }
+    }
+
+    /**
+     * Razreševanje imen celotnega (ustvarjenega) programa.
+     */
+    @State(Scope.Benchmark)
+    public static class Program {
+        @Param({ "SIMPLE", "FAST", "ARRAY" })
+        public SymbolTableKind table;
+
+        @Param({ "100", "1000" })
+        public int size;
+
+        public Pipeline pipeline;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            pipeline = new Pipeline(Corpus.load(Corpus.GENERATED, size));
+            pipeline.lex();
+            pipeline.parse();
+            pipeline.symbolTable = table;
+        }
+    }
+
+    @Benchmark
+    public void scopes(Definitions definitions, Blackhole blackhole) throws DefinitionAlreadyExistsException {
+        var table = Pipeline.symbolTable(definitions.table);
+        var names = definitions.names;
+        for (var def : definitions.globals) {
+            table.insert(def);
+        }
+        for (int id = 0; id < names; id++) {
+            table.pushScope();
+            for (int i = 0; i < LOCALS; i++) {
+                table.insert(definitions.locals[(id + i) % names]);
+            }
+            for (int i = -LOCALS; i < 2 * LOCALS; i++) {
+                blackhole.consume(table.definitionFor((id + i + names) % names));
+            }
+            table.popScope();
+        }
+    }
+
+    @Benchmark
+    public Object resolveNames(Program program) {
+        return program.pipeline.resolveNames();
+    }
+}
@@ -4,30 +4,56 @@
 
 import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Optional;
 
 import cli.PINS;
+import cli.PINS.Backend;
+import cli.PINS.Emit;
+import cli.PINS.MemoryModel;
 import cli.PINS.Phase;
+import cli.PINS.StatsFormat;
+import common.Report;
+import common.Statistics;
+import compiler.c.CGenerator;
 import compiler.common.PrettyPrintVisitor4;
 import compiler.frm.Access;
 import compiler.frm.Frame;
 import compiler.frm.FrameEvaluator;
 import compiler.gen.LinCodeGenerator;
+import compiler.gen.MapMemory;
 import compiler.gen.Memory;
+import compiler.gen.RegisterAllocator;
+import compiler.gen.WordMemory;
 import compiler.interpret.Interpreter;
 import compiler.ir.IRCodeGenerator;
 import compiler.ir.IRPrettyPrint;
+import compiler.ir.cfg.CFGPrettyPrint;
+import compiler.ir.chunk.Chunk.CodeChunk;
+import compiler.ir.opt.ConstantFolder;
+import compiler.ir.opt.DeadCodeEliminator;
+import compiler.jvm.JvmGenerator;
+import compiler.jvm.JvmProgram;
 import compiler.lexer.Lexer;
+import compiler.lexer.TokenSource;
 import compiler.parser.Parser;
 import compiler.parser.ast.def.Def;
-import compiler.seman.common.NodeDescription;
+import compiler.seman.common.ArrayNodeDescription;
 import compiler.seman.name.NameChecker;
+import compiler.seman.name.env.ArraySymbolTable;
 import compiler.seman.name.env.FastSymbolTable;
+import compiler.seman.name.env.SimpleSymbolTable;
 import compiler.seman.name.env.SymbolTable;
 import compiler.seman.type.TypeChecker;
 import compiler.seman.type.type.Type;
+import compiler.vm.BytecodeGenerator;
+import compiler.vm.VirtualMachine;
 
 public class Main {
     /**
@@ -45,37 +71,67 @@ public class Main {
 
 
     private static void run(PINS cli) throws IOException {
-        var sourceCode = Files.readString(Paths.get(cli.sourceFile));
-        run(cli, sourceCode);
+        // Izvorno kodo preslikamo v pomnilnik in jo analiziramo neposredno kot bajte ASCII
+        try (var channel = FileChannel.open(Paths.get(cli.sourceFile), StandardOpenOption.READ)) {
+            var source = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            run(cli, source);
+        }
+    }
+
+    private static void run(PINS cli, ByteBuffer source) {
+        var stats = new Statistics();
+        try {
+            run(cli, source, stats);
+        } finally {
+            stats.end();
+            if (cli.stats == StatsFormat.TEXT) {
+                stats.printText(Report.err);
+            } else if (cli.stats == StatsFormat.JSON) {
+                stats.printJson(Report.err);
+            }
+        }
     }
 
-    private static void run(PINS cli, String sourceCode) {
+    private static void run(PINS cli, ByteBuffer source, Statistics stats) {
         /*
-         * Izvedi leksikalno analizo.
+         * Izvedi leksikalno analizo. Simbole shranimo le, če izpisujemo simbole
+         * ali produkcije, sicer jih sintaksni analizator bere sproti.
          */
-        var symbols = new Lexer(sourceCode).scan();
-        if (cli.dumpPhases.contains(Phase.LEX)) {
-            for (var symbol : symbols) {
-                System.out.println(symbol.toString());
+        stats.phase("LEX");
+        var lexer = new Lexer(source);
+        TokenSource tokens = lexer;
+        if (cli.dumpPhases.contains(Phase.LEX) || cli.dumpPhases.contains(Phase.SYN) || cli.execPhase == Phase.LEX) {
+            var stream = lexer.scan();
+            stats.count("symbols", stream.size());
+            if (cli.dumpPhases.contains(Phase.LEX)) {
+                for (int i = 0; i < stream.size(); i++) {
+                    System.out.println(stream.symbol(i).toString());
+                }
             }
-        }
-        if (cli.execPhase == Phase.LEX) {
-            return;
+            if (cli.execPhase == Phase.LEX) {
+                return;
+            }
+            tokens = stream.cursor();
         }
         /*
          * Izvedi sintaksno analizo.
          */
+        stats.phase("SYN");
         Optional<PrintStream> out = cli.dumpPhases.contains(Phase.SYN)
                 ? Optional.of(System.out)
                 : Optional.empty();
-        var parser = new Parser(symbols, out);
+        var parser = new Parser(tokens, out);
         var ast = parser.parse();
+        stats.count("symbols", lexer.tokenCount());
+        var nodeCount = parser.nodeCount();
+        stats.count("astNodes", nodeCount);
         if (cli.execPhase == Phase.SYN) {
             return;
         }
         /*
          * Abstraktna sintaksa.
          */
+        stats.phase("AST");
         var prettyPrint = new PrettyPrintVisitor4(2, System.out);
         if (cli.dumpPhases.contains(Phase.AST)) {
             ast.accept(prettyPrint);
@@ -86,10 +142,16 @@ public class Main {
         /*
          * Izvedi razreševanje imen.
          */
-        SymbolTable symbolTable = new FastSymbolTable();
-        var definitions = new NodeDescription<Def>();
+        stats.phase("NAME");
+        SymbolTable symbolTable = switch (cli.symbolTable) {
+            case SIMPLE -> new SimpleSymbolTable();
+            case FAST -> new FastSymbolTable();
+            case ARRAY -> new ArraySymbolTable();
+        };
+        var definitions = new ArrayNodeDescription<Def>(nodeCount);
         var nameChecker = new NameChecker(definitions, symbolTable);
         ast.accept(nameChecker);
+        stats.count("resolvedNames", definitions.size());
         if (cli.dumpPhases.contains(Phase.NAME)) {
             prettyPrint.definitions = Optional.of(definitions);
             ast.accept(prettyPrint);
@@ -100,9 +162,11 @@ public class Main {
         /*
          * Izvedi preverjanje tipov.
          */
-        var types = new NodeDescription<Type>();
+        stats.phase("TYP");
+        var types = new ArrayNodeDescription<Type>(nodeCount);
         var typeChecker = new TypeChecker(definitions, types);
         ast.accept(typeChecker);
+        stats.count("typedNodes", types.size());
         if (cli.dumpPhases.contains(Phase.TYP)) {
             prettyPrint.definitions = Optional.of(definitions);
             prettyPrint.types = Optional.of(types);
@@ -114,10 +178,12 @@ public class Main {
         /*
          * Izvedi analizo klicnih zapisov in dostopov.
          */
-        var frames = new NodeDescription<Frame>();
-        var accesses = new NodeDescription<Access>();
+        stats.phase("FRM");
+        var frames = new ArrayNodeDescription<Frame>(nodeCount);
+        var accesses = new ArrayNodeDescription<Access>(nodeCount);
         var frameEvaluator = new FrameEvaluator(frames, accesses, definitions, types);
         ast.accept(frameEvaluator);
+        stats.count("frames", frames.size());
         if (cli.dumpPhases.contains(Phase.FRM)) {
             prettyPrint.definitions = Optional.of(definitions);
             prettyPrint.types = Optional.of(types);
@@ -131,10 +197,18 @@ public class Main {
         /*
          * Generiranje vmesne kode.
          */
-        var generator = new IRCodeGenerator(new NodeDescription<>(), frames, accesses, definitions, types);
+        stats.phase("IMC");
+        var generator = new IRCodeGenerator(new ArrayNodeDescription<>(nodeCount), frames, accesses, definitions, types, cli.optimizationLevel >= 1);
         ast.accept(generator);
+        var chunks = generator.chunks;
+        if (cli.optimizationLevel >= 1) {
+            var folder = new ConstantFolder();
+            chunks = folder.fold(chunks);
+            Report.info("IMC: Constant folding removed " + folder.removedNodes() + " nodes.");
+        }
+        stats.count("chunks", chunks.size());
         if (cli.dumpPhases.contains(Phase.IMC)) {
-            new IRPrettyPrint(System.out, 2).print(generator.chunks);
+            new IRPrettyPrint(System.out, 2).print(chunks);
         }
         if (cli.execPhase == Phase.IMC) {
             return;
@@ -142,18 +216,121 @@ public class Main {
         /*
          * Linearizacija vmesne kode.
          */
-        var memory = new Memory(cli.memory);
-        var mainCodeChunk = new LinCodeGenerator(memory).generateCode(generator.chunks);
+        stats.phase("LIN");
+        Memory memory = cli.memoryModel == MemoryModel.MAP ? new MapMemory(cli.memory) : new WordMemory(cli.memory);
+        Optional<DeadCodeEliminator> eliminator = cli.optimizationLevel >= 1 ? Optional.of(new DeadCodeEliminator()) : Optional.empty();
+        Optional<RegisterAllocator> registerAllocator = cli.optimizationLevel >= 1 ? Optional.of(new RegisterAllocator()) : Optional.empty();
+        var linGenerator = new LinCodeGenerator(memory, eliminator, registerAllocator);
+        var mainCodeChunk = linGenerator.generateCode(chunks);
+        eliminator.ifPresent(e -> Report.info("LIN: Dead code elimination removed " + e.removedStatements() + " statements."));
+        registerAllocator.ifPresent(r -> Report.info("LIN: Register allocation removed " + r.removedTemps() + " temps."));
+        stats.count("linearStatements", linGenerator.codeChunks.stream()
+                .mapToLong(chunk -> chunk.code.statements().size()).sum());
+        stats.count("temps", linGenerator.codeChunks.stream().mapToLong(chunk -> chunk.tempCount).sum());
+        if (cli.dumpPhases.contains(Phase.LIN)) {
+            new CFGPrettyPrint(System.out, 2, cli.dominators).print(linGenerator.codeChunks);
+        }
+        /*
+         * Zapis izvršljivega arhiva JAR oz. izvorne kode C.
+         */
+        if (cli.emit == Emit.JAR) {
+            stats.phase("EMIT");
+            emitJar(cli.sourceFile, mainCodeChunk, memory, stats);
+        } else if (cli.emit == Emit.C) {
+            stats.phase("EMIT");
+            emitC(cli.sourceFile, mainCodeChunk, memory);
+        }
+        if (cli.execPhase == Phase.LIN) {
+            return;
+        }
         if (!cli.dumpPhases.contains(Phase.INT)) {
             return;
         }
         /*
          * Izvajanje vmesne kode.
          */
+        stats.phase("INT");
         if (mainCodeChunk.isPresent()) {
             Optional<PrintStream> outputStream = cli.dumpPhases.contains(Phase.INT) ? Optional.of(System.out) : Optional.empty();
-            var interpreter = new Interpreter(memory, outputStream);
-            interpreter.interpret(mainCodeChunk.get());
+            if (cli.backend == Backend.JVM && runJvm(mainCodeChunk.get(), memory, outputStream, stats)) {
+                return;
+            }
+            if (cli.backend == Backend.VM) {
+                var program = new BytecodeGenerator(memory).generate(mainCodeChunk.get());
+                var vm = new VirtualMachine(memory, outputStream);
+                vm.run(program);
+                stats.count("executedInstructions", vm.executedInstructions());
+            } else {
+                var interpreter = new Interpreter(memory, outputStream);
+                interpreter.interpret(mainCodeChunk.get());
+                stats.count("executedStatements", interpreter.executedStatements());
+            }
+        }
+    }
+
+    /**
+     * Prevede program v bajtno kodo JVM in ga zapiše v izvršljiv arhiv JAR
+     * poleg izvorne datoteke (npr. `program.pins` -> `program.jar`).
+     */
+    private static void emitJar(String sourceFile, Optional<CodeChunk> main, Memory memory, Statistics stats) {
+        if (main.isEmpty()) {
+            Report.error("EMIT: Program has no main function.");
+        }
+        JvmProgram program = null;
+        try {
+            program = new JvmGenerator(memory).generate(main.get());
+        } catch (JvmGenerator.UnsupportedException e) {
+            Report.error("EMIT: Cannot compile to JVM bytecode (" + e.getMessage() + ").");
+        }
+        stats.count("jvmMethods", program.methodCount);
+        var path = outputPath(sourceFile, ".jar");
+        try {
+            program.writeJar(path);
+        } catch (IOException e) {
+            Report.error("EMIT: Cannot write " + path + " (" + e.getMessage() + ").");
+        }
+    }
+
+    /**
+     * Prevede program v C in ga zapiše poleg izvorne datoteke (npr. `program.pins` -> `program.c`).
+     */
+    private static void emitC(String sourceFile, Optional<CodeChunk> main, Memory memory) {
+        if (main.isEmpty()) {
+            Report.error("EMIT: Program has no main function.");
+        }
+        var path = outputPath(sourceFile, ".c");
+        try (var out = new PrintStream(Files.newOutputStream(path), false, StandardCharsets.UTF_8)) {
+            new CGenerator(memory).generate(main.get(), out);
+        } catch (IOException e) {
+            Report.error("EMIT: Cannot write " + path + " (" + e.getMessage() + ").");
+        }
+    }
+
+    /**
+     * Pot izhodne datoteke poleg izvorne datoteke, s podano končnico.
+     */
+    private static Path outputPath(String sourceFile, String extension) {
+        var fileName = Paths.get(sourceFile).getFileName().toString();
+        var dot = fileName.lastIndexOf('.');
+        return Paths.get(sourceFile).resolveSibling((dot > 0 ? fileName.substring(0, dot) : fileName) + extension);
+    }
+
+    /**
+     * Prevede program v bajtno kodo JVM in ga izvede.
+     * Vrne `false`, če programa ni mogoče prevesti (tedaj ga izvede interpreter).
+     */
+    private static boolean runJvm(CodeChunk main, Memory memory, Optional<PrintStream> outputStream, Statistics stats) {
+        JvmProgram program;
+        try {
+            program = new JvmGenerator(memory).generate(main);
+        } catch (JvmGenerator.UnsupportedException e) {
+            Report.info("INT: Cannot compile to JVM bytecode (" + e.getMessage() + "), using the interpreter.");
+            return false;
         }
+        stats.count("jvmMethods", program.methodCount);
+        var execution = program.run(outputStream);
+        stats.add(execution.cpuNanos, execution.allocatedBytes);
+        stats.count("executedCalls", execution.executedCalls);
+        return true;
     }
 }
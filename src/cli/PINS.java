@@ -8,6 +8,7 @@ import java.util.EnumSet;
 
 import ArgPar.Annotation.ParsableArgument;
 import ArgPar.Annotation.ParsableCommand;
+import ArgPar.Annotation.ParsableFlag;
 import ArgPar.Annotation.ParsableOption;
 import ArgPar.Exception.ParseException;
 import ArgPar.Parser.ArgumentParser;
@@ -38,13 +39,61 @@ public class PINS {
     @ParsableOption(name = "--memory")
     public int memory = 1024;
 
+    /**
+     * Izvajalno okolje, ki izvede vmesno kodo.
+     */
+    @ParsableOption(name = "--backend")
+    public Backend backend = Backend.INT;
+
+    /**
+     * Predstavitev pomnilnika v navideznem stroju.
+     */
+    @ParsableOption(name = "--mem-model")
+    public MemoryModel memoryModel = MemoryModel.WORD;
+
+    /**
+     * Stopnja optimizacije vmesne kode (0 - brez optimizacij).
+     */
+    @ParsableOption(name = "-O")
+    public int optimizationLevel = 0;
+
+    /**
+     * Implementacija simbolne tabele pri razreševanju imen.
+     */
+    @ParsableOption(name = "--symbol-table")
+    public SymbolTableKind symbolTable = SymbolTableKind.ARRAY;
+
+    /**
+     * Izhod prevajalnika poleg izvajanja (npr. izvršljiv arhiv JAR).
+     */
+    @ParsableOption(name = "--emit")
+    public Emit emit = Emit.NONE;
+
+    /**
+     * Izpis meritev posameznih faz prevajanja.
+     */
+    @ParsableOption(name = "--stats")
+    public StatsFormat stats = StatsFormat.NONE;
+
+    /**
+     * Izpis neposrednih dominatorjev blokov pri izpisu faze LIN.
+     */
+    @ParsableFlag(name = "--dominators")
+    public boolean dominators = false;
+
     /**
      * Razčleni argumente.
      */
     public static PINS parse(String[] args) {
         try {
             var parser = new ArgumentParser<PINS>(PINS.class);
-            return parser.parse(args);
+            var cli = parser.parse(args);
+            // Arhiv oz. izvorno kodo C zapišemo po fazi LIN
+            if (cli.emit != Emit.NONE && cli.execPhase.compareTo(Phase.LIN) < 0) {
+                System.err.println("Error: '--emit " + cli.emit + "' requires '--exec LIN' or a later phase!");
+                System.exit(2);
+            }
+            return cli;
         } catch (ParseException __) {
             System.exit(2);
             return null;
@@ -57,7 +106,51 @@ public class PINS {
      * Faze prevajanja.
      */
     public static enum Phase {
-        LEX, SYN, AST, NAME, TYP, FRM, IMC, INT
+        LEX, SYN, AST, NAME, TYP, FRM, IMC, LIN, INT
+    }
+
+    /**
+     * Izvajalna okolja.
+     */
+    public static enum Backend {
+        INT, // interpreter vmesne kode
+        VM,  // navidezni stroj (bytecode)
+        JVM  // prevod v bajtno kodo JVM
+    }
+
+    /**
+     * Predstavitve pomnilnika.
+     */
+    public static enum MemoryModel {
+        MAP, // zgoščena tabela naslovov in vrednosti
+        WORD // tabela celih števil, reference v ločeni tabeli
+    }
+
+    /**
+     * Implementacije simbolne tabele.
+     */
+    public static enum SymbolTableKind {
+        SIMPLE, // sklad zgoščenih tabel
+        FAST,   // sklad definicij za vsako ime
+        ARRAY   // tabele, indeksirane s številko imena, in dnevnik sprememb
+    }
+
+    /**
+     * Izhodi prevajalnika.
+     */
+    public static enum Emit {
+        NONE, // brez izhoda
+        JAR,  // izvršljiv arhiv JAR s programom v bajtni kodi JVM
+        C     // izvorna koda v jeziku C
+    }
+
+    /**
+     * Oblike izpisa meritev.
+     */
+    public static enum StatsFormat {
+        NONE, // brez izpisa
+        TEXT, // berljiva tabela
+        JSON
     }
 
     /**
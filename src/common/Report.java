@@ -24,6 +24,10 @@ public class Report {
 
     private Report() {}
 
+    public static void info(String message) {
+        err.println(message);
+    }
+
     public static void error(String message) {
         err.println(message);
         System.exit(exitErrorCode);      
@@ -0,0 +1,159 @@
+/**
+ * @Description: Merjenje porabe časa in pomnilnika po fazah prevajanja.
+ */
+
+package common;
+
+import static common.RequireNonNull.requireNonNull;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class Statistics {
+    /**
+     * Izmerjene faze v vrstnem redu izvajanja.
+     */
+    private final List<Measurement> phases = new ArrayList<>();
+
+    /**
+     * Števci (vozlišča, simboli, fragmenti, ...).
+     */
+    private final Map<String, Long> counts = new LinkedHashMap<>();
+
+    /**
+     * Vir meritev za trenutno nit.
+     */
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    /**
+     * Trenutno merjena faza.
+     */
+    private Measurement current;
+
+    /**
+     * Zaključi meritev trenutne faze in začne meriti novo fazo.
+     */
+    public void phase(String name) {
+        requireNonNull(name);
+        end();
+        current = new Measurement(name, System.nanoTime(), cpuTime(), allocatedBytes());
+        phases.add(current);
+    }
+
+    /**
+     * Zaključi meritev trenutne faze.
+     */
+    public void end() {
+        if (current != null) {
+            current.wallNanos = System.nanoTime() - current.wallNanos;
+            current.cpuNanos = cpuTime() - current.cpuNanos;
+            current.allocatedBytes = allocatedBytes() - current.allocatedBytes;
+            current = null;
+        }
+    }
+
+    /**
+     * Trenutni fazi prišteje porabo druge niti (npr. niti, ki izvaja program,
+     * preveden v bajtno kodo JVM); negativne vrednosti (meritev ni podprta)
+     * prezremo.
+     */
+    public void add(long cpuNanos, long allocatedBytes) {
+        if (current == null) {
+            return;
+        }
+        // Med merjenjem faza hrani začetne vrednosti, zato jih zmanjšamo
+        if (cpuNanos > 0 && current.cpuNanos >= 0) {
+            current.cpuNanos -= cpuNanos;
+        }
+        if (allocatedBytes > 0 && current.allocatedBytes >= 0) {
+            current.allocatedBytes -= allocatedBytes;
+        }
+    }
+
+    /**
+     * Shrani vrednost števca.
+     */
+    public void count(String name, long value) {
+        requireNonNull(name);
+        counts.put(name, value);
+    }
+
+    /**
+     * Izpiše meritve v berljivi obliki.
+     */
+    public void printText(PrintStream stream) {
+        stream.println(String.format("%-6s %12s %12s %14s", "phase", "wall [ms]", "cpu [ms]", "alloc [KiB]"));
+        for (var phase : phases) {
+            stream.println(String.format("%-6s %12.3f %12.3f %14d",
+                    phase.name,
+                    phase.wallNanos / 1e6,
+                    phase.cpuNanos / 1e6,
+                    phase.allocatedBytes / 1024));
+        }
+        for (var entry : counts.entrySet()) {
+            stream.println(entry.getKey() + ": " + entry.getValue());
+        }
+    }
+
+    /**
+     * Izpiše meritve v obliki JSON.
+     */
+    public void printJson(PrintStream stream) {
+        var sb = new StringBuilder();
+        sb.append("{\"phases\":[");
+        for (int i = 0; i < phases.size(); i++) {
+            var phase = phases.get(i);
+            if (i > 0) sb.append(",");
+            sb.append("{\"name\":\"").append(phase.name).append("\"")
+              .append(",\"wallNanos\":").append(phase.wallNanos)
+              .append(",\"cpuNanos\":").append(phase.cpuNanos)
+              .append(",\"allocatedBytes\":").append(phase.allocatedBytes)
+              .append("}");
+        }
+        sb.append("],\"counts\":{");
+        var first = true;
+        for (var entry : counts.entrySet()) {
+            if (!first) sb.append(",");
+            first = false;
+            sb.append("\"").append(entry.getKey()).append("\":").append(entry.getValue());
+        }
+        sb.append("}}");
+        stream.println(sb);
+    }
+
+    // ----------- pomožne funkcije -----------
+
+    private long cpuTime() {
+        return threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : -1;
+    }
+
+    @SuppressWarnings("deprecation")
+    private long allocatedBytes() {
+        if (threads instanceof com.sun.management.ThreadMXBean sunThreads && sunThreads.isThreadAllocatedMemorySupported()) {
+            return sunThreads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * Meritev ene faze. Med merjenjem hrani začetne vrednosti, po koncu pa razlike.
+     */
+    private static class Measurement {
+        final String name;
+        long wallNanos;
+        long cpuNanos;
+        long allocatedBytes;
+
+        Measurement(String name, long wallNanos, long cpuNanos, long allocatedBytes) {
+            this.name = name;
+            this.wallNanos = wallNanos;
+            this.cpuNanos = cpuNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+}
@@ -0,0 +1,383 @@
+/**
+ * @ Description: Prevajanje linearizirane vmesne kode v izvorno kodo C.
+ * Vsaka funkcija postane funkcija C, pomnilnik navideznega stroja je tabela bajtov.
+ */
+
+package compiler.c;
+
+import static common.RequireNonNull.requireNonNull;
+
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import common.Constants;
+import common.Report;
+import compiler.frm.Frame;
+import compiler.gen.Memory;
+import compiler.gen.ReachableFunctions;
+import compiler.ir.chunk.Chunk.CodeChunk;
+import compiler.ir.code.expr.*;
+import compiler.ir.code.stmt.*;
+import stdlib.StandardFunctions;
+
+public class CGenerator {
+    /**
+     * Izvajalno okolje: dostop do pomnilnika, celoštevilska aritmetika z
+     * obnašanjem Jave (prekoračitve, deljenje) in standardna knjižnica.
+     * Generator naključnih števil je enak <code>java.util.Random</code>,
+     * zato `rand_int` vrača ista števila kot interpreter.
+     */
+    private static final String RUNTIME = """
+            #include <stdint.h>
+            #include <stdio.h>
+            #include <stdlib.h>
+            #include <string.h>
+
+            static unsigned char memory[MEMORY_SIZE + WORD_SIZE];
+
+            static void pins_error(const char *message) {
+                fflush(stdout);
+                fprintf(stderr, "INT: %s\\n", message);
+                exit(99);
+            }
+
+            static inline int32_t load(int32_t address) {
+                int32_t value;
+                if (address <= 0 || address > MEMORY_SIZE || address % WORD_SIZE != 0) {
+                    pins_error("Address out of bounds.");
+                }
+                memcpy(&value, memory + address, sizeof value);
+                return value;
+            }
+
+            static inline int32_t store(int32_t address, int32_t value) {
+                if (address <= 0 || address > MEMORY_SIZE || address % WORD_SIZE != 0) {
+                    pins_error("Address out of bounds.");
+                }
+                memcpy(memory + address, &value, sizeof value);
+                return value;
+            }
+
+            static inline int32_t pins_add(int32_t a, int32_t b) { return (int32_t) ((uint32_t) a + (uint32_t) b); }
+            static inline int32_t pins_sub(int32_t a, int32_t b) { return (int32_t) ((uint32_t) a - (uint32_t) b); }
+            static inline int32_t pins_mul(int32_t a, int32_t b) { return (int32_t) ((uint32_t) a * (uint32_t) b); }
+
+            static inline int32_t pins_div(int32_t a, int32_t b) {
+                if (b == 0) pins_error("Division by zero.");
+                if (b == -1) return pins_sub(0, a);
+                return a / b;
+            }
+
+            static inline int32_t pins_mod(int32_t a, int32_t b) {
+                if (b == 0) pins_error("Division by zero.");
+                if (b == -1) return 0;
+                return a % b;
+            }
+
+            static inline int32_t pins_and(int32_t a, int32_t b) { return a != 0 && b != 0; }
+            static inline int32_t pins_or(int32_t a, int32_t b) { return a != 0 || b != 0; }
+
+            static const char *string_at(int32_t address);
+
+            static inline int32_t pins_print_int(int32_t value) {
+                printf("%d\\n", value);
+                return 0;
+            }
+
+            static inline int32_t pins_print_str(int32_t address) {
+                const char *string = string_at(address);
+                printf("\\"%s\\"\\n", string != NULL ? string : "null");
+                return 0;
+            }
+
+            static inline int32_t pins_print_log(int32_t value) {
+                printf("%s\\n", value != 0 ? "true" : "false");
+                return 0;
+            }
+
+            /* java.util.Random */
+            static uint64_t random_state;
+            static int random_seeded = 0;
+
+            static inline int32_t random_next(int bits) {
+                random_state = (random_state * 0x5DEECE66DULL + 0xBULL) & ((1ULL << 48) - 1);
+                return (int32_t) (uint32_t) (random_state >> (48 - bits));
+            }
+
+            static inline int32_t pins_seed(int32_t seed) {
+                random_state = ((uint64_t) (int64_t) seed ^ 0x5DEECE66DULL) & ((1ULL << 48) - 1);
+                random_seeded = 1;
+                return 0;
+            }
+
+            static inline int32_t pins_rand_int(int32_t origin, int32_t bound) {
+                int32_t r, n, m, u;
+                if (!random_seeded) pins_error("Random generator is not seeded.");
+                if (origin >= bound) pins_error("Bound must be greater than origin.");
+                r = random_next(32);
+                n = pins_sub(bound, origin);
+                m = pins_sub(n, 1);
+                if ((n & m) == 0) {
+                    return pins_add(r & m, origin);
+                }
+                if (n > 0) {
+                    for (u = (int32_t) ((uint32_t) r >> 1); pins_sub(pins_add(u, m), r = u % n) < 0;
+                            u = (int32_t) ((uint32_t) random_next(32) >> 1)) {
+                    }
+                    return pins_add(r, origin);
+                }
+                while (r < origin || r >= bound) {
+                    r = random_next(32);
+                }
+                return r;
+            }
+            """;
+
+    /**
+     * Pomnilnik navideznega stroja.
+     * Iz njega razrešimo kodo klicanih funkcij.
+     */
+    private final Memory memory;
+
+    /**
+     * Funkcije, ki jih prevedemo v funkcije C `f0`, `f1`, ...
+     */
+    private ReachableFunctions functions;
+
+    // --- stanje trenutno prevajane funkcije ---
+
+    private StringBuilder code;
+    private Map<Frame.Label, Integer> labels;
+
+    /**
+     * Začasne spremenljivke, ki jih funkcija bere oz. jim prireja vrednost.
+     */
+    private BitSet readTemps;
+    private BitSet writtenTemps;
+
+    public CGenerator(Memory memory) {
+        requireNonNull(memory);
+        this.memory = memory;
+    }
+
+    /**
+     * Prevede funkcijo `main` in vse funkcije, ki so iz nje dosegljive s klici,
+     * ter izpiše program v C.
+     */
+    public void generate(CodeChunk main, PrintStream out) {
+        requireNonNull(main, out);
+        var definitions = new StringBuilder();
+        functions = new ReachableFunctions(memory, main);
+        for (var chunk = functions.next(); chunk != null; chunk = functions.next()) {
+            code = definitions;
+            generateChunk(chunk, functions.index(chunk.frame.label, chunk));
+        }
+
+        out.println("/* Ustvaril prevajalnik PINS. */");
+        out.println("#define MEMORY_SIZE " + memory.size);
+        out.println("#define WORD_SIZE " + Constants.WordSize);
+        out.println();
+        out.print(RUNTIME);
+        out.println();
+        out.println("static const char *string_at(int32_t address) {");
+        out.println("    switch (address) {");
+        for (var string : functions.strings.entrySet()) {
+            out.println("    case " + string.getKey() + ": return \"" + escape(string.getValue()) + "\";");
+        }
+        out.println("    default: return NULL;");
+        out.println("    }");
+        out.println("}");
+        out.println();
+        for (int index = 0; index < functions.size(); index++) {
+            out.println("static int32_t " + functionName(index) + "(int32_t callerFp, int32_t sp);");
+        }
+        out.println();
+        out.print(definitions);
+        out.println("int main(void) {");
+        out.println("    store(MEMORY_SIZE, 999); /* argument v funkcijo main */");
+        out.println("    " + functionName(0) + "(MEMORY_SIZE - WORD_SIZE, MEMORY_SIZE - WORD_SIZE);");
+        out.println("    return 0;");
+        out.println("}");
+    }
+
+    private static String functionName(int index) {
+        return "f" + index;
+    }
+
+    private void generateChunk(CodeChunk chunk, int index) {
+        if (!(chunk.code instanceof SeqStmt seq)) {
+            Report.error("EMIT: Code of " + chunk.frame.label + " is not linearized.");
+            return;
+        }
+        labels = new HashMap<>();
+        readTemps = new BitSet();
+        writtenTemps = new BitSet();
+
+        // Telo prevedemo najprej, da izvemo, katere začasne spremenljivke potrebuje
+        var definitions = code;
+        code = new StringBuilder();
+        for (var stmt : seq.statements) {
+            generate(stmt);
+        }
+        var body = code;
+        code = definitions;
+
+        code.append("/* ").append(chunk.frame.label.name).append(" */\n");
+        code.append("static int32_t ").append(functionName(index)).append("(int32_t callerFp, int32_t sp) {\n");
+        code.append("    int32_t fp");
+        var usedTemps = (BitSet) readTemps.clone();
+        usedTemps.or(writtenTemps);
+        for (int temp = usedTemps.nextSetBit(0); temp >= 0; temp = usedTemps.nextSetBit(temp + 1)) {
+            code.append(", t").append(temp).append(" = 0");
+        }
+        code.append(";\n");
+        // Spremenljivke, ki jih le nastavimo, označimo kot uporabljene (-Wall)
+        writtenTemps.andNot(readTemps);
+        for (int temp = writtenTemps.nextSetBit(0); temp >= 0; temp = writtenTemps.nextSetBit(temp + 1)) {
+            code.append("    (void) t").append(temp).append(";\n");
+        }
+        // Prolog: okvir se začne na SP klicatelja, vanj shranimo njegov FP
+        code.append("    store(sp - ").append(chunk.frame.oldFPOffset()).append(", callerFp);\n");
+        code.append("    fp = sp;\n");
+        code.append("    sp = sp - ").append(chunk.frame.size()).append(";\n");
+        code.append(body);
+
+        // Epilog: funkcija vrne besedo na naslovu FP
+        code.append("    return load(fp);\n");
+        code.append("}\n\n");
+    }
+
+    // --------- stavki ----------
+
+    private void generate(IRStmt stmt) {
+        if (stmt instanceof CJumpStmt cjump) {
+            code.append("    if (").append(expression(cjump.condition)).append(") goto ")
+                    .append(label(cjump.thenLabel)).append(";\n");
+            code.append("    goto ").append(label(cjump.elseLabel)).append(";\n");
+        } else if (stmt instanceof ExpStmt exp) {
+            code.append("    (void) ").append(expression(exp.expr)).append(";\n");
+        } else if (stmt instanceof JumpStmt jump) {
+            code.append("    goto ").append(label(jump.label)).append(";\n");
+        } else if (stmt instanceof LabelStmt label) {
+            code.append(label(label.label)).append(":;\n");
+        } else if (stmt instanceof MoveStmt move) {
+            if (move.dst instanceof MemExpr memExpr) {
+                code.append("    store(").append(expression(memExpr.expr)).append(", ")
+                        .append(expression(move.src)).append(");\n");
+            } else if (move.dst instanceof TempExpr tempExpr) {
+                writtenTemps.set(tempExpr.temp.id);
+                code.append("    t").append(tempExpr.temp.id).append(" = ").append(expression(move.src)).append(";\n");
+            } else {
+                Report.error("EMIT: MoveStmt must be succeeded by MemExpr or TempExpr.");
+            }
+        } else if (stmt instanceof SeqStmt seq) {
+            seq.statements.forEach(this::generate);
+        } else {
+            Report.error("EMIT: Cannot translate " + stmt.getClass().getSimpleName() + " to C.");
+        }
+    }
+
+    // --------- izrazi ----------
+
+    /**
+     * Izraz v C; vrstni red izračuna operandov v C ni določen,
+     * zato morajo biti operandi (razen klicev) brez stranskih učinkov.
+     */
+    private String expression(IRExpr expr) {
+        if (expr instanceof BinopExpr binop) {
+            var lhs = expression(binop.lhs);
+            var rhs = expression(binop.rhs);
+            return switch (binop.op) {
+                case ADD -> "pins_add(" + lhs + ", " + rhs + ")";
+                case SUB -> "pins_sub(" + lhs + ", " + rhs + ")";
+                case MUL -> "pins_mul(" + lhs + ", " + rhs + ")";
+                case DIV -> "pins_div(" + lhs + ", " + rhs + ")";
+                case MOD -> "pins_mod(" + lhs + ", " + rhs + ")";
+                case AND -> "pins_and(" + lhs + ", " + rhs + ")";
+                case OR -> "pins_or(" + lhs + ", " + rhs + ")";
+                case EQ -> "(" + lhs + " == " + rhs + ")";
+                case NEQ -> "(" + lhs + " != " + rhs + ")";
+                case LT -> "(" + lhs + " < " + rhs + ")";
+                case GT -> "(" + lhs + " > " + rhs + ")";
+                case LEQ -> "(" + lhs + " <= " + rhs + ")";
+                case GEQ -> "(" + lhs + " >= " + rhs + ")";
+            };
+        } else if (expr instanceof CallExpr call) {
+            return call(call);
+        } else if (expr instanceof ConstantExpr constant) {
+            return constant.constant == Integer.MIN_VALUE ? "INT32_MIN" : Integer.toString(constant.constant);
+        } else if (expr instanceof MemExpr mem) {
+            if (mem.expr instanceof NameExpr name && !ReachableFunctions.isRegister(name) && !functions.isWord(name.label)) {
+                Report.error("EMIT: Cannot load a reference from " + name.label + " in C.");
+            }
+            return "load(" + expression(mem.expr) + ")";
+        } else if (expr instanceof NameExpr name) {
+            if (name.label.name.equals(Constants.framePointer)) {
+                return "fp";
+            } else if (name.label.name.equals(Constants.stackPointer)) {
+                return "sp";
+            }
+            return Integer.toString(functions.address(name.label));
+        } else if (expr instanceof TempExpr temp) {
+            readTemps.set(temp.temp.id);
+            return "t" + temp.temp.id;
+        }
+        Report.error("EMIT: Cannot translate " + expr.getClass().getSimpleName() + " to C.");
+        return null;
+    }
+
+    private String call(CallExpr call) {
+        var function = StandardFunctions.get(call.label);
+        var sb = new StringBuilder();
+        if (function != null) {
+            if (call.args.size() != function.callArgs()) {
+                Report.error("EMIT: Invalid argument count in call of " + call.label.name + ".");
+            }
+            // Izvajalno okolje ima za vsako funkcijo knjižnice funkcijo pins_<ime>
+            sb.append("pins_").append(function.label).append("(");
+            for (int i = 1; i < call.args.size(); i++) {
+                sb.append(i > 1 ? ", " : "").append(expression(call.args.get(i)));
+            }
+            return sb.append(")").toString();
+        }
+        if (!(memory.ldM(call.label) instanceof CodeChunk callee)) {
+            Report.error("EMIT: Only functions can be called.");
+            return null;
+        }
+        // Argumente shrani na dno klicnega zapisa klicatelja; vejični operator določa vrstni red
+        sb.append("(");
+        for (int i = 0; i < call.args.size(); i++) {
+            sb.append("store(sp + ").append(i * Constants.WordSize).append(", ")
+                    .append(expression(call.args.get(i))).append("), ");
+        }
+        sb.append(functionName(functions.index(call.label, callee))).append("(fp, sp))");
+        return sb.toString();
+    }
+
+    // ----------- pomožne funkcije -----------
+
+    private String label(Frame.Label label) {
+        return "L" + labels.computeIfAbsent(label, __ -> labels.size());
+    }
+
+    /**
+     * Niz zapiše kot literal C (UTF-8, posebni znaki kot osmiška zaporedja).
+     */
+    private static String escape(String string) {
+        var sb = new StringBuilder();
+        for (byte b : string.getBytes(StandardCharsets.UTF_8)) {
+            int c = b & 0xFF;
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append((char) c);
+            } else if (c < 0x20 || c > 0x7E || c == '?') {
+                sb.append(String.format("\\%03o", c));
+            } else {
+                sb.append((char) c);
+            }
+        }
+        return sb.toString();
+    }
+}
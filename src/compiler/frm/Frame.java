@@ -94,6 +94,14 @@ public class Frame {
             return new Temp(count++);
         }
 
+        /**
+         * Ustvari začasno spremenljivko s podanim indeksom
+         * (po preštevilčenju znotraj fragmenta kode).
+         */
+        public static Temp indexed(int index) {
+            return new Temp(index);
+        }
+
         @Override
         public String toString() {
             return "T[" + id + "]";
@@ -8,7 +8,9 @@ import static common.RequireNonNull.requireNonNull;
 import static java.util.List.of;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -16,6 +18,7 @@ import common.Constants;
 import common.Report;
 import compiler.frm.Frame;
 import compiler.ir.chunk.Chunk;
+import compiler.ir.opt.DeadCodeEliminator;
 import compiler.ir.code.expr.*;
 import compiler.ir.code.stmt.*;
 
@@ -31,9 +34,30 @@ public class LinCodeGenerator {
      */
     private int offset = Constants.WordSize;
 
+    /**
+     * Linearizirani fragmenti kode.
+     */
+    public final List<Chunk.CodeChunk> codeChunks = new ArrayList<>();
+
+    /**
+     * Odstranjevanje mrtve kode iz lineariziranih fragmentov (ob optimizaciji).
+     */
+    private final Optional<DeadCodeEliminator> eliminator;
+
+    /**
+     * Dodeljevanje celic začasnim spremenljivkam (ob optimizaciji).
+     */
+    private final Optional<RegisterAllocator> registerAllocator;
+
     public LinCodeGenerator(Memory memory) {
-        requireNonNull(memory);
+        this(memory, Optional.empty(), Optional.empty());
+    }
+
+    public LinCodeGenerator(Memory memory, Optional<DeadCodeEliminator> eliminator, Optional<RegisterAllocator> registerAllocator) {
+        requireNonNull(memory, eliminator, registerAllocator);
         this.memory = memory;
+        this.eliminator = eliminator;
+        this.registerAllocator = registerAllocator;
     }
 
     /**
@@ -46,6 +70,7 @@ public class LinCodeGenerator {
         for (var chunk : chunks) {
             if (chunk instanceof Chunk.CodeChunk code) {
                 var linearChunk = linearizeChunk(code);
+                codeChunks.add(linearChunk);
                 memory.registerLabel(code.frame.label, offset);
                 offset += Constants.WordSize;
                 memory.stM(code.frame.label, linearChunk);
@@ -71,7 +96,31 @@ public class LinCodeGenerator {
 
     private Chunk.CodeChunk linearizeChunk(Chunk.CodeChunk chunk) {
         var linCode = linearize(chunk.code);
-        return new Chunk.CodeChunk(chunk.frame, linCode);
+        if (eliminator.isPresent()) {
+            linCode = eliminator.get().eliminate(new Chunk.CodeChunk(chunk.frame, linCode));
+        }
+        var allocator = new TempAllocator();
+        linCode = allocator.renumber(linCode);
+        if (registerAllocator.isPresent()) {
+            var slots = registerAllocator.get().allocate(new Chunk.CodeChunk(chunk.frame, linCode, Map.of(), allocator.tempCount()));
+            allocator = new TempAllocator(slots);
+            linCode = allocator.renumber(linCode);
+        }
+        return new Chunk.CodeChunk(chunk.frame, linCode, labelIndices(linCode), allocator.tempCount());
+    }
+
+    /**
+     * Zgradi tabelo skokov - preslikavo iz label v indekse
+     * pripadajočih `LabelStmt` v linearizirani kodi.
+     */
+    private Map<Frame.Label, Integer> labelIndices(SeqStmt code) {
+        var labelIndices = new HashMap<Frame.Label, Integer>();
+        for (int i = 0; i < code.statements.size(); i++) {
+            if (code.statements.get(i) instanceof LabelStmt labelStmt) {
+                labelIndices.put(labelStmt.label, i);
+            }
+        }
+        return labelIndices;
     }
 
     private EseqExpr linearize(IRExpr expr) {
@@ -0,0 +1,46 @@
+/**
+ * @ Author: turk
+ * @ Description: Emulator pomnilnika navideznega stroja,
+ * ki vrednosti hrani v zgoščeni tabeli.
+ */
+
+package compiler.gen;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class MapMemory extends Memory {
+    /**
+     * Emulator pomnilnika – preslikava iz naslovov v vrednosti poljubnih tipov.
+     */
+    private final Map<Integer, Object> memory = new HashMap<>();
+
+    public MapMemory(int size) {
+        super(size);
+    }
+
+    @Override
+    public void stM(int address, Object value) {
+        validateAddress(address);
+        memory.put(address, value);
+    }
+
+    @Override
+    public Object ldM(int address) {
+        validateAddress(address);
+        if (memory.containsKey(address)) {
+            return memory.get(address);
+        }
+        throw new IllegalArgumentException("Empty address " + address + "!");
+    }
+
+    @Override
+    protected boolean isEmpty(int address) {
+        return !memory.containsKey(address);
+    }
+
+    @Override
+    protected Map<Integer, Object> contents() {
+        return memory;
+    }
+}
@@ -12,17 +12,12 @@ import java.util.stream.Collectors;
 import common.Constants;
 import compiler.frm.Frame;
 
-public class Memory {
+public abstract class Memory {
     /**
      * Velikost pomnilnika v bajtih.
      */
     public final int size;
 
-    /**
-     * Emulator pomnilnika – preslikava iz naslovov v vrednosti poljubnih tipov.
-     */
-    private final Map<Integer, Object> memory = new HashMap<>();
-
     /**
      * Začasne spremenljivke ('registri').
      */
@@ -33,45 +28,46 @@ public class Memory {
      */
     private final Map<Frame.Label, Integer> labelToAddressMapping = new HashMap<>();
 
-    public Memory(int size) {
+    protected Memory(int size) {
         this.size = size;
     }
 
     /**
      * Na podan naslov shrani vrednost.
      */
-    public void stM(int address, Object value) {
-        validateAddress(address);
-        memory.put(address, value);
-    }
+    public abstract void stM(int address, Object value);
 
     /**
-     * Na podano imenovano lokacijo shrani vrednost.
+     * Preberi vrednost iz podanega naslova.
      */
-    public void stM(Frame.Label label, Object value) {
-        if (labelToAddressMapping.containsKey(label)) {
-            memory.put(address(label), value);
-        } else {
-            throw new IllegalArgumentException("Unknown label!");
-        }
+    public abstract Object ldM(int address);
+
+    /**
+     * Na podan naslov shrani celo število (besedo).
+     */
+    public void stW(int address, int value) {
+        stM(address, value);
     }
 
     /**
-     * V podan register shrani vrednost.
+     * Preberi celo število (besedo) iz podanega naslova.
      */
-    public void stT(Frame.Temp temp, Object value) {
-        temps.put(temp, value);
+    public int ldW(int address) {
+        if (ldM(address) instanceof Integer integer) {
+            return integer;
+        }
+        throw new IllegalArgumentException("Could not convert obj to integer!");
     }
 
     /**
-     * Preberi vrednost iz podanega naslova.
+     * Na podano imenovano lokacijo shrani vrednost.
      */
-    public Object ldM(int address) {
-        validateAddress(address);
-        if (memory.containsKey(address)) {
-            return memory.get(address);
+    public void stM(Frame.Label label, Object value) {
+        if (labelToAddressMapping.containsKey(label)) {
+            stM(address(label), value);
+        } else {
+            throw new IllegalArgumentException("Unknown label!");
         }
-        throw new IllegalArgumentException("Empty address " + address + "!");
     }
 
     /**
@@ -80,11 +76,18 @@ public class Memory {
     public Object ldM(Frame.Label label) {
         if (labelToAddressMapping.containsKey(label)) {
             var address = labelToAddressMapping.get(label);
-            return memory.get(address);
+            return isEmpty(address) ? null : ldM(address);
         }
         throw new IllegalArgumentException("Empty address for label " + label.toString() + "!");
     }
 
+    /**
+     * V podan register shrani vrednost.
+     */
+    public void stT(Frame.Temp temp, Object value) {
+        temps.put(temp, value);
+    }
+
     /**
      * Preberi vrednost iz podane začasne spremenljivke oz. registra.
      */
@@ -110,6 +113,16 @@ public class Memory {
         return labelToAddressMapping.get(label);
     }
 
+    /**
+     * Preveri, ali na podanem naslovu ni shranjene vrednosti.
+     */
+    protected abstract boolean isEmpty(int address);
+
+    /**
+     * Vrne vse zapisane vrednosti, indeksirane z naslovi.
+     */
+    protected abstract Map<Integer, Object> contents();
+
     @Override
     public String toString() {
         var sb = new StringBuilder();
@@ -124,7 +137,7 @@ public class Memory {
         if (!tempsStr.isEmpty()) {
             sb.append("\n");
         }
-        var memStr = memory.entrySet().stream()
+        var memStr = contents().entrySet().stream()
             .sorted((o1, o2) -> o2.getKey() - o1.getKey())
             .map(entry -> entry.getKey() + ": " + entry.getValue().toString())
             .collect(Collectors.joining("\n"));
@@ -132,7 +145,7 @@ public class Memory {
         return sb.toString();
     }
 
-    private void validateAddress(int address) {
+    protected void validateAddress(int address) {
         // if debugMode
         if (address > size) {
             throw new IllegalArgumentException("Address " + address + " out of bounds!");
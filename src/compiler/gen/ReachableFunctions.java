@@ -0,0 +1,101 @@
+/**
+ * @ Description: Funkcije, dosegljive s klici iz funkcije `main`, ki jih
+ * zaledje (JVM, C) prevaja eno za drugo, in nizi, ki jih prevedena koda uporablja.
+ */
+
+package compiler.gen;
+
+import static common.RequireNonNull.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import common.Constants;
+import compiler.frm.Frame;
+import compiler.ir.chunk.Chunk.CodeChunk;
+import compiler.ir.code.expr.NameExpr;
+
+public final class ReachableFunctions {
+    /**
+     * Pomnilnik navideznega stroja, iz katerega razrešimo naslove label.
+     */
+    private final Memory memory;
+
+    /**
+     * Preslikava iz label funkcij v zaporedne številke; `main` ima številko 0.
+     */
+    private final Map<Frame.Label, Integer> indices = new HashMap<>();
+
+    /**
+     * Funkcije, ki jih še moramo prevesti.
+     */
+    private final ArrayDeque<CodeChunk> worklist = new ArrayDeque<>();
+
+    /**
+     * Nizi, katerih naslove uporablja prevedena koda (indeksirani z naslovi).
+     */
+    public final Map<Integer, String> strings = new TreeMap<>();
+
+    public ReachableFunctions(Memory memory, CodeChunk main) {
+        requireNonNull(memory, main);
+        this.memory = memory;
+        index(main.frame.label, main);
+    }
+
+    /**
+     * Vrne naslednjo funkcijo, ki jo moramo prevesti, oz. `null`.
+     */
+    public CodeChunk next() {
+        return worklist.poll();
+    }
+
+    /**
+     * Številka funkcije; če funkcija še nima številke, jo dobi
+     * in je dodana med funkcije, ki jih moramo prevesti.
+     */
+    public int index(Frame.Label label, CodeChunk chunk) {
+        requireNonNull(label, chunk);
+        var index = indices.get(label);
+        if (index == null) {
+            index = indices.size();
+            indices.put(label, index);
+            worklist.add(chunk);
+        }
+        return index;
+    }
+
+    /**
+     * @return število funkcij, ki so do zdaj dobile številko
+     */
+    public int size() {
+        return indices.size();
+    }
+
+    /**
+     * Naslov labele; če je na njem niz, si ga zapomnimo.
+     */
+    public int address(Frame.Label label) {
+        var address = memory.address(label);
+        if (memory.ldM(label) instanceof String string) {
+            strings.put(address, string);
+        }
+        return address;
+    }
+
+    /**
+     * Ali je na naslovu labele celo število (in ne npr. niz ali koda funkcije).
+     */
+    public boolean isWord(Frame.Label label) {
+        var value = memory.ldM(label);
+        return value == null || value instanceof Integer;
+    }
+
+    /**
+     * Ali labela označuje register (FP ali SP) in ne naslova v pomnilniku.
+     */
+    public static boolean isRegister(NameExpr name) {
+        return name.label.name.equals(Constants.framePointer) || name.label.name.equals(Constants.stackPointer);
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * @ Description: Dodeljevanje celic (registrov) začasnim spremenljivkam.
+ */
+
+package compiler.gen;
+
+import static common.RequireNonNull.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import compiler.frm.Frame;
+import compiler.ir.cfg.ControlFlowGraph;
+import compiler.ir.cfg.Liveness;
+import compiler.ir.chunk.Chunk.CodeChunk;
+import compiler.ir.code.expr.TempExpr;
+import compiler.ir.code.stmt.*;
+
+public class RegisterAllocator {
+    /**
+     * Število začasnih spremenljivk pred dodeljevanjem.
+     */
+    private int tempsBefore = 0;
+
+    /**
+     * Število celic po dodeljevanju.
+     */
+    private int tempsAfter = 0;
+
+    /**
+     * Začasnim spremenljivkam fragmenta dodeli celice tako, da si celico
+     * delijo le spremenljivke, ki niso hkrati žive.
+     *
+     * Graf interferenc pobarvamo požrešno; spremenljivki, povezani
+     * s prenosom `T1 <- T2`, po možnosti dobita isto celico (s tem
+     * prenos postane odveč).
+     *
+     * @param chunk linearizirana koda z zaporedno oštevilčenimi začasnimi spremenljivkami
+     * @return preslikava iz začasnih spremenljivk v indekse celic
+     */
+    public Map<Frame.Temp, Integer> allocate(CodeChunk chunk) {
+        requireNonNull(chunk);
+        var count = chunk.tempCount;
+        var graph = ControlFlowGraph.build(chunk);
+        var liveness = new Liveness(graph);
+
+        // Graf interferenc hranimo redko: povezavo shranimo le pri spremenljivki
+        // z večjo številko, saj barvanje gleda le že pobarvane (manjše) sosede
+        var interference = new Neighbors[count];
+        var moves = new ArrayList<List<Integer>>(count);
+        for (int i = 0; i < count; i++) {
+            interference[i] = new Neighbors();
+            moves.add(new ArrayList<>());
+        }
+
+        // Graf interferenc: definirana spremenljivka interferira z vsemi, ki so za stavkom žive
+        for (var block : graph.blocks) {
+            var live = (BitSet) liveness.liveOut(block).clone();
+            for (int i = block.statements.size() - 1; i >= 0; i--) {
+                var stmt = block.statements.get(i);
+                var def = Liveness.def(stmt);
+                if (def >= 0) {
+                    var source = -1;
+                    if (stmt instanceof MoveStmt move && move.src instanceof TempExpr temp) {
+                        source = temp.temp.id;
+                        moves.get(def).add(source);
+                        moves.get(source).add(def);
+                    }
+                    for (int t = live.nextSetBit(0); t >= 0; t = live.nextSetBit(t + 1)) {
+                        if (t != def && t != source) {
+                            interference[Math.max(t, def)].add(Math.min(t, def));
+                        }
+                    }
+                    live.clear(def);
+                }
+                Liveness.uses(stmt, live);
+            }
+        }
+
+        // Požrešno barvanje v vrstnem redu pojavitve
+        var slots = new int[count];
+        var slotCount = 0;
+        for (int t = 0; t < count; t++) {
+            var taken = new BitSet();
+            var neighbors = interference[t];
+            for (int i = 0; i < neighbors.size; i++) {
+                taken.set(slots[neighbors.temps[i]]);
+            }
+            interference[t] = null;
+            var slot = -1;
+            for (var partner : moves.get(t)) {
+                if (partner < t && !taken.get(slots[partner])) {
+                    slot = slots[partner];
+                    break;
+                }
+            }
+            if (slot == -1) {
+                slot = taken.nextClearBit(0);
+            }
+            slots[t] = slot;
+            slotCount = Math.max(slotCount, slot + 1);
+        }
+
+        tempsBefore += count;
+        tempsAfter += slotCount;
+        var result = new HashMap<Frame.Temp, Integer>();
+        for (int t = 0; t < count; t++) {
+            result.put(Frame.Temp.indexed(t), slots[t]);
+        }
+        return result;
+    }
+
+    /**
+     * @return število začasnih spremenljivk, ki jih je dodeljevanje odpravilo
+     */
+    public int removedTemps() {
+        return tempsBefore - tempsAfter;
+    }
+
+    /**
+     * Sosedi spremenljivke v grafu interferenc z manjšo številko
+     * (ista povezava se lahko ponovi).
+     */
+    private static class Neighbors {
+        int[] temps = new int[4];
+        int size = 0;
+
+        void add(int temp) {
+            if (size > 0 && temps[size - 1] == temp) {
+                return;
+            }
+            if (size == temps.length) {
+                temps = Arrays.copyOf(temps, size * 2);
+            }
+            temps[size++] = temp;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * @ Description: Preštevilčenje začasnih spremenljivk znotraj fragmenta kode.
+ */
+
+package compiler.gen;
+
+import static common.RequireNonNull.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+import compiler.frm.Frame;
+import compiler.ir.code.expr.*;
+import compiler.ir.code.stmt.*;
+
+public class TempAllocator {
+    /**
+     * Preslikava iz prvotnih v preštevilčene začasne spremenljivke.
+     */
+    private final Map<Frame.Temp, Frame.Temp> temps = new HashMap<>();
+
+    /**
+     * Število celic, v katere preslikamo začasne spremenljivke.
+     */
+    private int tempCount = 0;
+
+    public TempAllocator() {
+    }
+
+    /**
+     * Začasne spremenljivke preslika v podane celice
+     * (npr. rezultat `RegisterAllocator`-ja).
+     */
+    public TempAllocator(Map<Frame.Temp, Integer> slots) {
+        requireNonNull(slots);
+        for (var entry : slots.entrySet()) {
+            temps.put(entry.getKey(), Frame.Temp.indexed(entry.getValue()));
+            tempCount = Math.max(tempCount, entry.getValue() + 1);
+        }
+    }
+
+    /**
+     * Začasne spremenljivke linearizirane kode preštevilči z zaporednimi
+     * indeksi od 0 naprej, tako da jih lahko hranimo v tabeli.
+     * Prenosi med spremenljivkama, ki dobita isto celico, odpadejo.
+     */
+    public SeqStmt renumber(SeqStmt code) {
+        requireNonNull(code);
+        var statements = new ArrayList<IRStmt>(code.statements.size());
+        for (var stmt : code.statements) {
+            var renumbered = renumber(stmt);
+            if (renumbered instanceof MoveStmt move
+                    && move.dst instanceof TempExpr dst
+                    && move.src instanceof TempExpr src
+                    && dst.temp.equals(src.temp)) {
+                continue;
+            }
+            statements.add(renumbered);
+        }
+        return new SeqStmt(statements);
+    }
+
+    /**
+     * @return število celic, ki jih potrebujejo začasne spremenljivke
+     */
+    public int tempCount() {
+        return tempCount;
+    }
+
+    private IRStmt renumber(IRStmt stmt) {
+        if (stmt instanceof CJumpStmt cjump) {
+            return new CJumpStmt(renumber(cjump.condition), cjump.thenLabel, cjump.elseLabel);
+        } else if (stmt instanceof ExpStmt exp) {
+            return new ExpStmt(renumber(exp.expr));
+        } else if (stmt instanceof JumpStmt || stmt instanceof LabelStmt) {
+            return stmt;
+        } else if (stmt instanceof MoveStmt move) {
+            return new MoveStmt(renumber(move.dst), renumber(move.src));
+        } else if (stmt instanceof SeqStmt seq) {
+            return renumber(seq);
+        } else {
+            throw new IllegalArgumentException("Unknown stmt type");
+        }
+    }
+
+    private IRExpr renumber(IRExpr expr) {
+        if (expr instanceof BinopExpr binop) {
+            return new BinopExpr(renumber(binop.lhs), renumber(binop.rhs), binop.op);
+        } else if (expr instanceof CallExpr call) {
+            var args = new ArrayList<IRExpr>(call.args.size());
+            for (var arg : call.args) {
+                args.add(renumber(arg));
+            }
+            return new CallExpr(call.label, args);
+        } else if (expr instanceof ConstantExpr || expr instanceof NameExpr) {
+            return expr;
+        } else if (expr instanceof EseqExpr eseq) {
+            return new EseqExpr(renumber(eseq.stmt), renumber(eseq.expr));
+        } else if (expr instanceof MemExpr mem) {
+            return new MemExpr(renumber(mem.expr));
+        } else if (expr instanceof TempExpr temp) {
+            return new TempExpr(temps.computeIfAbsent(temp.temp, __ -> Frame.Temp.indexed(tempCount++)));
+        } else {
+            throw new IllegalArgumentException("Unknown expr type");
+        }
+    }
+}
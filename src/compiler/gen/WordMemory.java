@@ -0,0 +1,172 @@
+/**
+ * @ Description: Emulator pomnilnika navideznega stroja,
+ * ki cela števila hrani v tabeli besed.
+ */
+
+package compiler.gen;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import common.Constants;
+
+public class WordMemory extends Memory {
+    /**
+     * Besede pomnilnika.
+     *
+     * Sklad raste od najvišjega naslova navzdol, zato besede indeksiramo
+     * od vrha pomnilnika: naslovu `limit` pripada indeks 0.
+     */
+    private int[] words;
+
+    /**
+     * Biti zapisanih besed (branje nezapisane besede je napaka).
+     */
+    private long[] written;
+
+    /**
+     * Biti besed, ki ne hranijo celega števila, temveč referenco.
+     */
+    private long[] isRef;
+
+    /**
+     * Reference (nizi, koda funkcij, ...), indeksirane z naslovi.
+     */
+    private final Map<Integer, Object> refs = new HashMap<>();
+
+    /**
+     * Najvišji poravnan naslov v pomnilniku.
+     */
+    private final int limit;
+
+    /**
+     * Največje število besed; sklad sme pod naslov 0 prekoračiti
+     * največ za velikost pomnilnika.
+     */
+    private final int maxCount;
+
+    public WordMemory(int size) {
+        super(size);
+        this.limit = size - Math.floorMod(size, Constants.WordSize);
+        int count = Math.max(1, limit / Constants.WordSize + 1);
+        this.maxCount = (int) Math.min(Integer.MAX_VALUE - 8, 2L * count);
+        this.words = new int[count];
+        this.written = new long[(count + 63) >> 6];
+        this.isRef = new long[(count + 63) >> 6];
+    }
+
+    @Override
+    public void stM(int address, Object value) {
+        if (value instanceof Integer integer) {
+            stW(address, integer);
+            return;
+        }
+        int index = index(address);
+        setBit(written, index);
+        setBit(isRef, index);
+        refs.put(address, value);
+    }
+
+    @Override
+    public Object ldM(int address) {
+        int index = loadIndex(address);
+        if (testBit(isRef, index)) {
+            return refs.get(address);
+        }
+        return words[index];
+    }
+
+    @Override
+    public void stW(int address, int value) {
+        int index = index(address);
+        if (testBit(isRef, index)) {
+            isRef[index >> 6] &= ~(1L << index);
+            refs.remove(address);
+        }
+        setBit(written, index);
+        words[index] = value;
+    }
+
+    @Override
+    public int ldW(int address) {
+        int index = loadIndex(address);
+        if (testBit(isRef, index)) {
+            throw new IllegalArgumentException("Could not convert obj to integer!");
+        }
+        return words[index];
+    }
+
+    @Override
+    protected boolean isEmpty(int address) {
+        long index = ((long) limit - address) / Constants.WordSize;
+        return index < 0 || index >= words.length || !testBit(written, (int) index);
+    }
+
+    @Override
+    protected Map<Integer, Object> contents() {
+        var contents = new HashMap<Integer, Object>();
+        for (int index = 0; index < words.length; index++) {
+            if (testBit(written, index)) {
+                int address = limit - index * Constants.WordSize;
+                contents.put(address, testBit(isRef, index) ? refs.get(address) : words[index]);
+            }
+        }
+        return contents;
+    }
+
+    // ----------- pomožne funkcije -----------
+
+    /**
+     * Preveri naslov in vrne indeks besede, po potrebi poveča pomnilnik.
+     */
+    private int index(int address) {
+        int index = validIndex(address);
+        if (index >= words.length) {
+            grow(index + 1);
+        }
+        return index;
+    }
+
+    /**
+     * Vrne indeks zapisane besede na podanem naslovu.
+     */
+    private int loadIndex(int address) {
+        int index = validIndex(address);
+        if (index >= words.length || !testBit(written, index)) {
+            throw new IllegalArgumentException("Empty address " + address + "!");
+        }
+        return index;
+    }
+
+    /**
+     * Preveri poravnanost in obseg naslova ter vrne indeks njegove besede.
+     */
+    private int validIndex(int address) {
+        validateAddress(address);
+        long index = ((long) limit - address) / Constants.WordSize;
+        if (index < 0 || index >= maxCount) {
+            throw new IllegalArgumentException("Address " + address + " out of bounds!");
+        }
+        return (int) index;
+    }
+
+    /**
+     * Naslovi pod ničlo (prekoračitev sklada) niso prepovedani,
+     * zato tabelo po potrebi povečamo.
+     */
+    private void grow(int count) {
+        count = Math.min(Math.max(count, words.length * 2), maxCount);
+        words = Arrays.copyOf(words, count);
+        written = Arrays.copyOf(written, (count + 63) >> 6);
+        isRef = Arrays.copyOf(isRef, (count + 63) >> 6);
+    }
+
+    private static void setBit(long[] bits, int index) {
+        bits[index >> 6] |= 1L << index;
+    }
+
+    private static boolean testBit(long[] bits, int index) {
+        return (bits[index >> 6] & (1L << index)) != 0;
+    }
+}
@@ -10,8 +10,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.Random;
 
@@ -24,6 +24,7 @@ import compiler.ir.code.IRNode;
 import compiler.ir.code.expr.*;
 import compiler.ir.code.stmt.*;
 import compiler.ir.IRPrettyPrint;
+import stdlib.StandardFunctions;
 
 public class Interpreter {
     /**
@@ -52,6 +53,38 @@ public class Interpreter {
      */
     private int framePointer;
 
+    /**
+     * Začasne spremenljivke ('registri') vseh aktivnih klicev.
+     * Vsak klic uporablja `tempCount` zaporednih celic od svoje baze naprej.
+     */
+    private Object[] registers = new Object[256];
+
+    /**
+     * Baza začasnih spremenljivk aktivnega klica.
+     */
+    private int registerBase;
+
+    /**
+     * Prva prosta celica v tabeli začasnih spremenljivk.
+     */
+    private int registerTop;
+
+    /**
+     * Klicni sklad: koda aktivnih klicev, indeks klicnega stavka v kodi
+     * klicatelja (povratni naslov) in baza začasnih spremenljivk klicatelja.
+     * Klici se izvajajo v eni zanki, zato globino rekurzije omejuje le
+     * velikost pomnilnika navideznega stroja.
+     */
+    private CodeChunk[] callChunks = new CodeChunk[64];
+    private int[] callPcs = new int[64];
+    private int[] callRegisterBases = new int[64];
+    private int depth = 0;
+
+    /**
+     * Število izvedenih stavkov.
+     */
+    private long executedStatements;
+
     public Interpreter(Memory memory, Optional<PrintStream> outputStream) {
         requireNonNull(memory, outputStream);
         this.memory = memory;
@@ -65,34 +98,102 @@ public class Interpreter {
     public void interpret(CodeChunk chunk) {
         memory.stM(framePointer + Constants.WordSize, 999); // argument v funkcijo main
         memory.stM(framePointer - chunk.frame.oldFPOffset(), framePointer); // oldFP
-        internalInterpret(chunk, new HashMap<>());
+        enter(chunk, -1);
+        run(0);
+    }
+
+    /**
+     * Izvaja kodo klica na vrhu klicnega sklada, dokler se globina sklada
+     * ne zmanjša na <code>returnDepth</code>. Klice funkcij (ki so v linearizirani
+     * kodi vedno oblike <code>MOVE(TEMP, CALL)</code> ali <code>EXP(CALL)</code>)
+     * izvede v isti zanki, brez rekurzije.
+     */
+    private void run(int returnDepth) {
+        var chunk = callChunks[depth - 1];
+        var statements = statements(chunk);
+        int pc = 0;
+        while (true) {
+            if (pc == statements.size()) {
+                pc = leave();
+                if (depth == returnDepth) {
+                    return;
+                }
+                chunk = callChunks[depth - 1];
+                statements = statements(chunk);
+                // Rezultat klica shrani v začasno spremenljivko klicnega stavka
+                if (statements.get(pc) instanceof MoveStmt move && move.dst instanceof TempExpr tempExpr) {
+                    registers[registerBase + tempExpr.temp.id] = memory.ldM(this.stackPointer);
+                }
+                pc++;
+                continue;
+            }
+            var stmt = statements.get(pc);
+            executedStatements++;
+            var call = functionCall(stmt);
+            if (call != null) {
+                var callee = (CodeChunk) memory.ldM(call.label);
+                storeArguments(call);
+                enter(callee, pc);
+                chunk = callee;
+                statements = statements(chunk);
+                pc = 0;
+                continue;
+            }
+            var result = execute(stmt);
+            if (result instanceof Frame.Label label) {
+                var target = chunk.labelIndices.get(label);
+                if (target != null) {
+                    pc = target;
+                }
+            }
+            pc++;
+        }
     }
 
-    private void internalInterpret(CodeChunk chunk, Map<Frame.Temp, Object> temps) {
+    /**
+     * Vstopi v klic: ustvari nov klicni zapis in rezervira začasne spremenljivke.
+     *
+     * @param returnPc Indeks klicnega stavka v kodi klicatelja.
+     */
+    private void enter(CodeChunk chunk, int returnPc) {
         // Najprej FP prestavimo na mesto SP, nato pa SP nastavimo na naslov, ki je oddaljen za velikost trenutnega okvirja.
         memory.stM(this.stackPointer - chunk.frame.oldFPOffset(), this.framePointer);
         this.framePointer = this.stackPointer;
         this.stackPointer -= chunk.frame.size();
         memory.registerLabel(NameExpr.FP().label, this.framePointer);
         memory.registerLabel(NameExpr.SP().label, this.stackPointer);
-
-        Object result;
-        if (chunk.code instanceof SeqStmt seq) {
-            for (int pc = 0; pc < seq.statements.size(); pc++) {
-                var stmt = seq.statements.get(pc);
-                result = execute(stmt, temps);
-                if (result instanceof Frame.Label label) {
-                    for (int q = 0; q < seq.statements.size(); q++) {
-                        if (seq.statements.get(q) instanceof LabelStmt labelStmt && labelStmt.label.equals(label)) {
-                            pc = q;
-                            break;
-                        }
-                    }
-                }
-            }
-        } else {
-            throw new RuntimeException("Linearize IR!");
+        // Shrani stanje klicatelja
+        if (depth == callChunks.length) {
+            callChunks = Arrays.copyOf(callChunks, depth * 2);
+            callPcs = Arrays.copyOf(callPcs, depth * 2);
+            callRegisterBases = Arrays.copyOf(callRegisterBases, depth * 2);
+        }
+        callChunks[depth] = chunk;
+        callPcs[depth] = returnPc;
+        callRegisterBases[depth] = this.registerBase;
+        depth++;
+        // Rezerviraj začasne spremenljivke klica
+        this.registerBase = this.registerTop;
+        this.registerTop += chunk.tempCount;
+        if (this.registerTop > registers.length) {
+            registers = Arrays.copyOf(registers, Math.max(this.registerTop, registers.length * 2));
         }
+    }
+
+    /**
+     * Izstopi iz klica na vrhu klicnega sklada.
+     *
+     * @return indeks klicnega stavka v kodi klicatelja.
+     */
+    private int leave() {
+        depth--;
+        var chunk = callChunks[depth];
+        callChunks[depth] = null;
+
+        // Sprosti začasne spremenljivke klica
+        Arrays.fill(registers, this.registerBase, this.registerTop, null);
+        this.registerTop = this.registerBase;
+        this.registerBase = callRegisterBases[depth];
 
         // Ponastavi FP in SP na stare vrednosti
         this.stackPointer = this.framePointer;
@@ -103,90 +204,129 @@ public class Interpreter {
         );
         memory.registerLabel(NameExpr.FP().label, this.framePointer);
         memory.registerLabel(NameExpr.SP().label, this.stackPointer);
+        return callPcs[depth];
+    }
+
+    /**
+     * Vrne klic funkcije (ne funkcije iz standardne knjižnice), če je stavek
+     * oblike <code>MOVE(TEMP, CALL)</code> ali <code>EXP(CALL)</code>, sicer <code>null</code>.
+     */
+    private CallExpr functionCall(IRStmt stmt) {
+        CallExpr call;
+        if (stmt instanceof MoveStmt move && move.dst instanceof TempExpr && move.src instanceof CallExpr callExpr) {
+            call = callExpr;
+        } else if (stmt instanceof ExpStmt exp && exp.expr instanceof CallExpr callExpr) {
+            call = callExpr;
+        } else {
+            return null;
+        }
+        if (StandardFunctions.get(call.label) != null || !(memory.ldM(call.label) instanceof CodeChunk)) {
+            return null;
+        }
+        return call;
+    }
+
+    /**
+     * Argumente klica shrani na dno klicnega zapisa klicatelja.
+     */
+    private void storeArguments(CallExpr call) {
+        int argCount = 0;
+        for (var arg : call.args) {
+            memory.stM(this.stackPointer + argCount, execute(arg));
+            argCount += Constants.WordSize;
+        }
+    }
+
+    private static List<IRStmt> statements(CodeChunk chunk) {
+        if (chunk.code instanceof SeqStmt seq) {
+            return seq.statements;
+        }
+        throw new RuntimeException("Linearize IR!");
     }
 
-    private Object execute(IRStmt stmt, Map<Frame.Temp, Object> temps) {
+    private Object execute(IRStmt stmt) {
         if (stmt instanceof CJumpStmt cjump) {
-            return execute(cjump, temps);
+            return execute(cjump);
         } else if (stmt instanceof ExpStmt exp) {
-            return execute(exp, temps);
+            return execute(exp);
         } else if (stmt instanceof JumpStmt jump) {
-            return execute(jump, temps);
+            return execute(jump);
         } else if (stmt instanceof LabelStmt label) {
             return null;
         } else if (stmt instanceof MoveStmt move) {
-            return execute(move, temps);
+            return execute(move);
         } else {
             throw new RuntimeException("Cannot execute this statement!");
         }
     }
 
-    private Object execute(CJumpStmt cjump, Map<Frame.Temp, Object> temps) {
-        return toBool(execute(cjump.condition, temps)) ? cjump.thenLabel : cjump.elseLabel;
+    private Object execute(CJumpStmt cjump) {
+        return toBool(execute(cjump.condition)) ? cjump.thenLabel : cjump.elseLabel;
     }
 
-    private Object execute(ExpStmt exp, Map<Frame.Temp, Object> temps) {
-        return execute(exp.expr, temps);
+    private Object execute(ExpStmt exp) {
+        return execute(exp.expr);
     }
 
-    private Object execute(JumpStmt jump, Map<Frame.Temp, Object> temps) {
+    private Object execute(JumpStmt jump) {
         return jump.label;
     }
 
-    private Object execute(MoveStmt move, Map<Frame.Temp, Object> temps) {
+    private Object execute(MoveStmt move) {
         Object moveDestination;
         if (move.dst instanceof MemExpr memExpr) {
-            moveDestination = execute(memExpr.expr, temps);
+            moveDestination = execute(memExpr.expr);
             if (moveDestination instanceof Frame.Label label) {
-                memory.stM(label, execute(move.src, temps));
+                memory.stM(label, execute(move.src));
                 return memory.ldM(label);
             } else {
-                memory.stM(toInt(moveDestination), execute(move.src, temps));
+                memory.stM(toInt(moveDestination), execute(move.src));
                 return memory.ldM(toInt(moveDestination));
             }
         } else if (move.dst instanceof TempExpr tempExpr) {
-            temps.put(tempExpr.temp, execute(move.src, temps));
-            return temps.get(tempExpr.temp);
+            var value = execute(move.src);
+            registers[registerBase + tempExpr.temp.id] = value;
+            return value;
         } else {
             Report.error("INT: Interpreter error. MoveStmt must be succeeded by MemExpr or TempExpr.");
             return null;
         }
     }
 
-    private Object execute(IRExpr expr, Map<Frame.Temp, Object> temps) {
+    private Object execute(IRExpr expr) {
         if (expr instanceof BinopExpr binopExpr) {
-            return execute(binopExpr, temps);
+            return execute(binopExpr);
         } else if (expr instanceof CallExpr callExpr) {
-            return execute(callExpr, temps);
+            return execute(callExpr);
         } else if (expr instanceof ConstantExpr constantExpr) {
             return execute(constantExpr);
         } else if (expr instanceof EseqExpr eseqExpr) {
             throw new RuntimeException("Cannot execute ESEQ; linearize IRCode!");
         } else if (expr instanceof MemExpr memExpr) {
-            return execute(memExpr, temps);
+            return execute(memExpr);
         } else if (expr instanceof NameExpr nameExpr) {
             return execute(nameExpr);
         } else if (expr instanceof TempExpr tempExpr) {
-            return execute(tempExpr, temps);
+            return execute(tempExpr);
         } else {
             throw new IllegalArgumentException("Unknown expr type");
         }
     }
 
-    private Object execute(BinopExpr binop, Map<Frame.Temp, Object> temps) {
-        Object lhs = execute(binop.lhs, temps);
-        Object rhs = execute(binop.rhs, temps);
+    private Object execute(BinopExpr binop) {
+        Object lhs = execute(binop.lhs);
+        Object rhs = execute(binop.rhs);
         int left_stmt, right_stmt;
 
         if (lhs instanceof Frame.Temp temp)
-            left_stmt = toInt(temps.get(temp));
+            left_stmt = toInt(registers[registerBase + temp.id]);
         else if (lhs instanceof Frame.Label label)
             left_stmt = memory.address(label);
         else
             left_stmt = toInt(lhs);
 
         if (rhs instanceof Frame.Temp temp)
-            right_stmt = toInt(temps.get(temp));
+            right_stmt = toInt(registers[registerBase + temp.id]);
         else if (rhs instanceof Frame.Label label)
             right_stmt = memory.address(label);
         else
@@ -213,41 +353,44 @@ public class Interpreter {
         };
     }
 
-    private Object execute(CallExpr call, Map<Frame.Temp, Object> temps) {
-        if (call.label.name.equals(Constants.printIntLabel)) {
-            if (call.args.size() != 2) { throw new RuntimeException("Invalid argument count!"); }
-            var arg = execute(call.args.get(1), temps);
-            outputStream.ifPresent(stream -> stream.println(arg));
-            return null;
-        } else if (call.label.name.equals(Constants.printStringLabel)) {
-            if (call.args.size() != 2) { throw new RuntimeException("Invalid argument count!"); }
-            var address = execute(call.args.get(1), temps);
-            var res = memory.ldM(toInt(address));
-            outputStream.ifPresent(stream -> stream.println("\""+res+"\""));
-            return null;
-        } else if (call.label.name.equals(Constants.printLogLabel)) {
-            if (call.args.size() != 2) { throw new RuntimeException("Invalid argument count!"); }
-            var arg = execute(call.args.get(1), temps);
-            outputStream.ifPresent(stream -> stream.println(toBool(arg)));
-            return null;
-        } else if (call.label.name.equals(Constants.randIntLabel)) {
-            if (call.args.size() != 3) { throw new RuntimeException("Invalid argument count!"); }
-            var min = toInt(execute(call.args.get(1), temps));
-            var max = toInt(execute(call.args.get(2), temps));
-            return random.nextInt(min, max);
-        } else if (call.label.name.equals(Constants.seedLabel)) {
-            if (call.args.size() != 2) { throw new RuntimeException("Invalid argument count!"); }
-            var seed = toInt(execute(call.args.get(1), temps));
-            random = new Random(seed);
-            return null;
-        } else if (memory.ldM(call.label) instanceof CodeChunk chunk) {
-            // Argumente shrani nato izvede funkcijo
-            int argCount = 0;
-            for (var arg : call.args) {
-                memory.stM(this.stackPointer + argCount, execute(arg, temps));
-                argCount += Constants.WordSize;
+    private Object execute(CallExpr call) {
+        var function = StandardFunctions.get(call.label);
+        if (function != null) {
+            if (call.args.size() != function.callArgs()) { throw new RuntimeException("Invalid argument count!"); }
+            switch (function) {
+                case print_int -> {
+                    var arg = execute(call.args.get(1));
+                    outputStream.ifPresent(stream -> stream.println(arg));
+                    return null;
+                }
+                case print_str -> {
+                    var address = execute(call.args.get(1));
+                    var res = memory.ldM(toInt(address));
+                    outputStream.ifPresent(stream -> stream.println("\""+res+"\""));
+                    return null;
+                }
+                case print_log -> {
+                    var arg = execute(call.args.get(1));
+                    outputStream.ifPresent(stream -> stream.println(toBool(arg)));
+                    return null;
+                }
+                case rand_int -> {
+                    var min = toInt(execute(call.args.get(1)));
+                    var max = toInt(execute(call.args.get(2)));
+                    return random.nextInt(min, max);
+                }
+                case seed -> {
+                    var seed = toInt(execute(call.args.get(1)));
+                    random = new Random(seed);
+                    return null;
+                }
             }
-            internalInterpret(chunk, new HashMap<>());
+            throw new RuntimeException("Unknown standard function " + function + "!");
+        } else if (memory.ldM(call.label) instanceof CodeChunk chunk) {
+            // Klic znotraj izraza (le v nelinearizirani kodi): argumente shrani nato izvede funkcijo
+            storeArguments(call);
+            enter(chunk, -1);
+            run(depth - 1);
             return memory.ldM(this.stackPointer);
         } else {
             throw new RuntimeException("Only functions can be called!");
@@ -258,12 +401,12 @@ public class Interpreter {
         return constant.constant;
     }
 
-    private Object execute(MemExpr mem, Map<Frame.Temp, Object> temps) {
-        Object expr = execute(mem.expr, temps);
+    private Object execute(MemExpr mem) {
+        Object expr = execute(mem.expr);
         if (expr instanceof Frame.Label label)
             return memory.ldM(label);
         else if (expr instanceof Frame.Temp temp)
-            return temps.get(temp);
+            return registers[registerBase + temp.id];
         return memory.ldM(toInt(expr));
     }
 
@@ -271,8 +414,15 @@ public class Interpreter {
         return memory.address(name.label);
     }
 
-    private Object execute(TempExpr temp, Map<Frame.Temp, Object> temps) {
-        return temps.get(temp.temp);
+    private Object execute(TempExpr temp) {
+        return registers[registerBase + temp.temp.id];
+    }
+
+    /**
+     * @return število do sedaj izvedenih stavkov
+     */
+    public long executedStatements() {
+        return executedStatements;
     }
 
     // ----------- pomožne funkcije -----------
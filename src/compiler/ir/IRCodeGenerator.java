@@ -63,6 +63,12 @@ public class IRCodeGenerator implements Visitor {
      */
     public List<Chunk> chunks = new ArrayList<>();
 
+    /**
+     * Ali logična operatorja `&` in `|` izračunamo skrajšano
+     * (desni operand izračunamo le, če levi ne določa rezultata).
+     */
+    private final boolean shortCircuit;
+
     private int staticLevel;
 
     public IRCodeGenerator(
@@ -71,8 +77,20 @@ public class IRCodeGenerator implements Visitor {
             NodeDescription<Access> accesses,
             NodeDescription<Def> definitions,
             NodeDescription<Type> types
+    ) {
+        this(imcCode, frames, accesses, definitions, types, false);
+    }
+
+    public IRCodeGenerator(
+            NodeDescription<IRNode> imcCode,
+            NodeDescription<Frame> frames,
+            NodeDescription<Access> accesses,
+            NodeDescription<Def> definitions,
+            NodeDescription<Type> types,
+            boolean shortCircuit
     ) {
         requireNonNull(imcCode, frames, accesses, definitions, types);
+        this.shortCircuit = shortCircuit;
         this.types = types;
         this.imcCode = imcCode;
         this.frames = frames;
@@ -96,7 +114,7 @@ public class IRCodeGenerator implements Visitor {
         Optional<MoveStmt> oldFPIR = Optional.empty();  // oldFP
 
         // --- Klic funkcije iz standardne knjižnice ---
-        if (StandardFunctions.exists(call.name)) {
+        if (StandardFunctions.exists(call.nameId)) {
             functionLabel = Label.named(call.name);
             SL = 1;
         } else {
@@ -208,6 +226,8 @@ public class IRCodeGenerator implements Visitor {
                         ),
                         binary
                 );
+            } else if (shortCircuit && (binary.operator == Binary.Operator.AND || binary.operator == Binary.Operator.OR)) {
+                imcCode.store(shortCircuit(binaryLeftIrExpr, binaryRightIrExpr, binary.operator), binary);
             } else if (binopExprOperator != null) {
                 var binopExpr = new BinopExpr(binaryLeftIrExpr, binaryRightIrExpr, binopExprOperator);
                 this.imcCode.store(binopExpr, binary);
@@ -220,6 +240,32 @@ public class IRCodeGenerator implements Visitor {
 
     }
 
+    /**
+     * Skrajšan izračun logičnega operatorja:
+     *
+     * T <- left
+     * CJUMP T (AND: Lright, Lend; OR: Lend, Lright)
+     * Lright:
+     * T <- right
+     * Lend:
+     */
+    private EseqExpr shortCircuit(IRExpr left, IRExpr right, Binary.Operator operator) {
+        var result = new TempExpr(Frame.Temp.next());
+        Label rightLabel = Label.nextAnonymous();
+        Label endLabel = Label.nextAnonymous();
+        var seq = new ArrayList<IRStmt>();
+        seq.add(new MoveStmt(result, left));
+        if (operator == Binary.Operator.AND) {
+            seq.add(new CJumpStmt(result, rightLabel, endLabel));
+        } else {
+            seq.add(new CJumpStmt(result, endLabel, rightLabel));
+        }
+        seq.add(new LabelStmt(rightLabel));
+        seq.add(new MoveStmt(result, right));
+        seq.add(new LabelStmt(endLabel));
+        return new EseqExpr(new SeqStmt(seq), result);
+    }
+
     private BinopExpr.Operator operatorMap(Binary.Operator operator) {
         return switch (operator) {
             case ADD -> BinopExpr.Operator.ADD;
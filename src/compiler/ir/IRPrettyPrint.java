@@ -40,6 +40,11 @@ public class IRPrettyPrint {
         this.increaseIndentBy = increaseIndentBy;
     }
 
+    public IRPrettyPrint(PrintStream outputStream, int increaseIndentBy, int indent) {
+        this(outputStream, increaseIndentBy);
+        this.indent = indent;
+    }
+
     public IRPrettyPrint(PrintStream outputStream) {
         requireNonNull(outputStream);
         this.outputStream = outputStream;
@@ -0,0 +1,84 @@
+/**
+ * @ Description: Osnovni blok linearizirane vmesne kode.
+ */
+
+package compiler.ir.cfg;
+
+import static common.RequireNonNull.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import compiler.frm.Frame;
+import compiler.ir.code.stmt.IRStmt;
+import compiler.ir.code.stmt.LabelStmt;
+
+public class BasicBlock {
+    /**
+     * Zaporedna številka bloka v grafu (vstopni blok ima številko 0).
+     */
+    public final int index;
+
+    /**
+     * Indeks prvega stavka bloka v linearizirani kodi.
+     */
+    public final int start;
+
+    /**
+     * Stavki bloka. Skok se lahko nahaja le na koncu bloka,
+     * labela pa le na začetku.
+     */
+    public final List<IRStmt> statements;
+
+    /**
+     * Nasledniki bloka.
+     */
+    public final List<BasicBlock> successors = new ArrayList<>();
+
+    /**
+     * Predhodniki bloka.
+     */
+    public final List<BasicBlock> predecessors = new ArrayList<>();
+
+    public BasicBlock(int index, int start, List<IRStmt> statements) {
+        requireNonNull(statements);
+        this.index = index;
+        this.start = start;
+        this.statements = statements;
+    }
+
+    /**
+     * @return labela na začetku bloka, če obstaja
+     */
+    public Optional<Frame.Label> label() {
+        if (!statements.isEmpty() && statements.get(0) instanceof LabelStmt label) {
+            return Optional.of(label.label);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return zadnji stavek bloka
+     */
+    public IRStmt last() {
+        return statements.get(statements.size() - 1);
+    }
+
+    /**
+     * @return indeks stavka za zadnjim stavkom bloka v linearizirani kodi
+     */
+    public int end() {
+        return start + statements.size();
+    }
+
+    void addSuccessor(BasicBlock successor) {
+        successors.add(successor);
+        successor.predecessors.add(this);
+    }
+
+    @Override
+    public String toString() {
+        return "B" + index;
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * @ Description: Izpis grafa poteka programa.
+ */
+
+package compiler.ir.cfg;
+
+import static common.RequireNonNull.requireNonNull;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import compiler.ir.IRPrettyPrint;
+import compiler.ir.chunk.Chunk;
+
+public class CFGPrettyPrint {
+    /**
+     * Izhodni tok, kamor se izpiše graf.
+     */
+    private final PrintStream outputStream;
+
+    /**
+     * Za koliko naj se indentacija poveča pri gnezdenju.
+     */
+    private final int increaseIndentBy;
+
+    /**
+     * Ali naj za vsak blok izpiše še neposrednega dominatorja
+     * (zahteva izračun drevesa dominatorjev).
+     */
+    private final boolean printDominators;
+
+    public CFGPrettyPrint(PrintStream outputStream, int increaseIndentBy) {
+        this(outputStream, increaseIndentBy, false);
+    }
+
+    public CFGPrettyPrint(PrintStream outputStream, int increaseIndentBy, boolean printDominators) {
+        requireNonNull(outputStream);
+        this.outputStream = outputStream;
+        this.increaseIndentBy = increaseIndentBy;
+        this.printDominators = printDominators;
+    }
+
+    // --------------------------------------
+
+    public void print(List<Chunk.CodeChunk> chunks) {
+        chunks.forEach(chunk -> print(ControlFlowGraph.build(chunk)));
+    }
+
+    /**
+     * Izpiše bloke grafa; za vsak blok izpiše predhodnike,
+     * naslednike in (po želji) neposrednega dominatorja, nato pa še njegove stavke.
+     */
+    public void print(ControlFlowGraph graph) {
+        var reachable = new boolean[graph.blocks.size()];
+        graph.reversePostorder().forEach(block -> reachable[block.index] = true);
+        var dominators = printDominators ? Optional.of(graph.dominators()) : Optional.<DominatorTree>empty();
+        var statements = new IRPrettyPrint(outputStream, increaseIndentBy, increaseIndentBy);
+        outputStream.println(graph.chunk.frame.toString());
+        for (var block : graph.blocks) {
+            outputStream.println(block.toString() + ":"
+                    + " pred=" + names(block.predecessors)
+                    + " succ=" + names(block.successors)
+                    + dominators.map(tree -> " idom=" + tree.idom(block).map(BasicBlock::toString).orElse("-")).orElse("")
+                    + (reachable[block.index] ? "" : " (unreachable)"));
+            block.statements.forEach(statements::print);
+        }
+    }
+
+    private String names(List<BasicBlock> blocks) {
+        return "[" + blocks.stream().map(BasicBlock::toString).collect(Collectors.joining(",")) + "]";
+    }
+}
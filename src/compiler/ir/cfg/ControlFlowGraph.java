@@ -0,0 +1,150 @@
+/**
+ * @ Description: Graf poteka programa za linearizirano kodo funkcije.
+ * Uporabljajo ga optimizacije (odstranjevanje mrtve kode, dodeljevanje
+ * registrov) in izpis faze LIN; interpreter skače neposredno po indeksih
+ * label (<code>CodeChunk.labelIndices</code>) in grafa ne potrebuje.
+ */
+
+package compiler.ir.cfg;
+
+import static common.RequireNonNull.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import compiler.frm.Frame;
+import compiler.ir.chunk.Chunk.CodeChunk;
+import compiler.ir.code.stmt.*;
+
+public class ControlFlowGraph {
+    /**
+     * Fragment kode, iz katerega je graf zgrajen.
+     */
+    public final CodeChunk chunk;
+
+    /**
+     * Osnovni bloki v vrstnem redu linearizirane kode.
+     * Prvi blok je vstopni blok funkcije.
+     */
+    public final List<BasicBlock> blocks;
+
+    /**
+     * Preslikava iz label v bloke, ki se z njimi začnejo.
+     */
+    private final Map<Frame.Label, BasicBlock> labelToBlock;
+
+    private ControlFlowGraph(CodeChunk chunk, List<BasicBlock> blocks, Map<Frame.Label, BasicBlock> labelToBlock) {
+        this.chunk = chunk;
+        this.blocks = blocks;
+        this.labelToBlock = labelToBlock;
+    }
+
+    /**
+     * Zgradi graf poteka iz linearizirane kode fragmenta.
+     *
+     * Nov blok se začne na začetku kode, pri vsaki labeli ter za vsakim skokom.
+     * Blok, ki se ne konča s skokom, nadaljuje v naslednji blok; blok
+     * brez naslednikov vrne iz funkcije.
+     */
+    public static ControlFlowGraph build(CodeChunk chunk) {
+        requireNonNull(chunk);
+        if (!(chunk.code instanceof SeqStmt seq)) {
+            throw new RuntimeException("Linearize IR!");
+        }
+        var statements = seq.statements;
+        var blocks = new ArrayList<BasicBlock>();
+        var labelToBlock = new HashMap<Frame.Label, BasicBlock>();
+
+        int start = 0;
+        for (int i = 0; i < statements.size(); i++) {
+            var stmt = statements.get(i);
+            if (stmt instanceof LabelStmt && i > start) {
+                blocks.add(new BasicBlock(blocks.size(), start, statements.subList(start, i)));
+                start = i;
+            }
+            if (stmt instanceof JumpStmt || stmt instanceof CJumpStmt) {
+                blocks.add(new BasicBlock(blocks.size(), start, statements.subList(start, i + 1)));
+                start = i + 1;
+            }
+        }
+        if (start < statements.size() || blocks.isEmpty()) {
+            blocks.add(new BasicBlock(blocks.size(), start, statements.subList(start, statements.size())));
+        }
+        for (var block : blocks) {
+            block.label().ifPresent(label -> labelToBlock.put(label, block));
+        }
+
+        var graph = new ControlFlowGraph(chunk, blocks, labelToBlock);
+        for (var block : blocks) {
+            var last = block.statements.isEmpty() ? null : block.last();
+            if (last instanceof JumpStmt jump) {
+                block.addSuccessor(graph.block(jump.label));
+            } else if (last instanceof CJumpStmt cjump) {
+                block.addSuccessor(graph.block(cjump.thenLabel));
+                block.addSuccessor(graph.block(cjump.elseLabel));
+            } else if (block.index + 1 < blocks.size()) {
+                block.addSuccessor(blocks.get(block.index + 1));
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * @return vstopni blok
+     */
+    public BasicBlock entry() {
+        return blocks.get(0);
+    }
+
+    /**
+     * @return blok, ki se začne s podano labelo
+     */
+    public BasicBlock block(Frame.Label label) {
+        var block = labelToBlock.get(label);
+        if (block == null) {
+            throw new IllegalArgumentException("Unknown label " + label + " in " + chunk.frame.label + "!");
+        }
+        return block;
+    }
+
+    /**
+     * Bloki, dosegljivi iz vstopnega bloka, v obratnem poobhodnem vrstnem redu
+     * (vsak blok je pred svojimi nasledniki, razen pri povratnih povezavah).
+     */
+    public List<BasicBlock> reversePostorder() {
+        var visited = new boolean[blocks.size()];
+        var postorder = new ArrayList<BasicBlock>(blocks.size());
+        // Iterativni obhod v globino (rekurzija bi pri velikih funkcijah prekoračila sklad)
+        var stack = new ArrayList<BasicBlock>();
+        var nextSuccessor = new int[blocks.size()];
+        stack.add(entry());
+        visited[entry().index] = true;
+        while (!stack.isEmpty()) {
+            var block = stack.get(stack.size() - 1);
+            if (nextSuccessor[block.index] < block.successors.size()) {
+                var successor = block.successors.get(nextSuccessor[block.index]++);
+                if (!visited[successor.index]) {
+                    visited[successor.index] = true;
+                    stack.add(successor);
+                }
+            } else {
+                stack.remove(stack.size() - 1);
+                postorder.add(block);
+            }
+        }
+        var reversed = new ArrayList<BasicBlock>(postorder.size());
+        for (int i = postorder.size() - 1; i >= 0; i--) {
+            reversed.add(postorder.get(i));
+        }
+        return reversed;
+    }
+
+    /**
+     * @return drevo dominatorjev grafa
+     */
+    public DominatorTree dominators() {
+        return new DominatorTree(this);
+    }
+}
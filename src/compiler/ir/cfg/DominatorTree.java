@@ -0,0 +1,141 @@
+/**
+ * @ Description: Drevo dominatorjev grafa poteka.
+ *
+ * Neposredne dominatorje izračunamo z iterativnim algoritmom
+ * (Cooper, Harvey, Kennedy: A Simple, Fast Dominance Algorithm).
+ */
+
+package compiler.ir.cfg;
+
+import static common.RequireNonNull.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+public class DominatorTree {
+    /**
+     * Graf poteka.
+     */
+    public final ControlFlowGraph graph;
+
+    /**
+     * Neposredni dominatorji, indeksirani s številkami blokov
+     * (-1 za nedosegljive bloke; vstopni blok je svoj dominator).
+     */
+    private final int[] idom;
+
+    /**
+     * Številke blokov v obratnem poobhodnem vrstnem redu (-1 za nedosegljive bloke).
+     */
+    private final int[] order;
+
+    /**
+     * Otroci v drevesu dominatorjev.
+     */
+    private final List<List<BasicBlock>> children;
+
+    DominatorTree(ControlFlowGraph graph) {
+        requireNonNull(graph);
+        this.graph = graph;
+        var size = graph.blocks.size();
+        this.idom = new int[size];
+        this.order = new int[size];
+        Arrays.fill(idom, -1);
+        Arrays.fill(order, -1);
+
+        var rpo = graph.reversePostorder();
+        for (int i = 0; i < rpo.size(); i++) {
+            order[rpo.get(i).index] = i;
+        }
+        var entry = graph.entry().index;
+        idom[entry] = entry;
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (var block : rpo) {
+                if (block.index == entry) {
+                    continue;
+                }
+                int newIdom = -1;
+                for (var predecessor : block.predecessors) {
+                    if (idom[predecessor.index] == -1) {
+                        continue;
+                    }
+                    newIdom = newIdom == -1 ? predecessor.index : intersect(predecessor.index, newIdom);
+                }
+                if (idom[block.index] != newIdom) {
+                    idom[block.index] = newIdom;
+                    changed = true;
+                }
+            }
+        }
+
+        this.children = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            children.add(new ArrayList<>());
+        }
+        for (var block : graph.blocks) {
+            if (idom[block.index] != -1 && block.index != entry) {
+                children.get(idom[block.index]).add(block);
+            }
+        }
+    }
+
+    /**
+     * @return neposredni dominator bloka (vstopni in nedosegljivi bloki ga nimajo)
+     */
+    public Optional<BasicBlock> idom(BasicBlock block) {
+        var dominator = idom[block.index];
+        if (dominator == -1 || dominator == block.index) {
+            return Optional.empty();
+        }
+        return Optional.of(graph.blocks.get(dominator));
+    }
+
+    /**
+     * @return bloki, katerih neposredni dominator je podani blok
+     */
+    public List<BasicBlock> children(BasicBlock block) {
+        return children.get(block.index);
+    }
+
+    /**
+     * @return ali je blok dosegljiv iz vstopnega bloka
+     */
+    public boolean isReachable(BasicBlock block) {
+        return idom[block.index] != -1;
+    }
+
+    /**
+     * @return ali blok `a` dominira blok `b`
+     */
+    public boolean dominates(BasicBlock a, BasicBlock b) {
+        if (!isReachable(a) || !isReachable(b)) {
+            return false;
+        }
+        int current = b.index;
+        while (current != a.index) {
+            var next = idom[current];
+            if (next == current) {
+                return false;
+            }
+            current = next;
+        }
+        return true;
+    }
+
+    private int intersect(int a, int b) {
+        while (a != b) {
+            while (order[a] > order[b]) {
+                a = idom[a];
+            }
+            while (order[b] > order[a]) {
+                b = idom[b];
+            }
+        }
+        return a;
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * @ Description: Analiza živosti začasnih spremenljivk.
+ */
+
+package compiler.ir.cfg;
+
+import static common.RequireNonNull.requireNonNull;
+
+import java.util.BitSet;
+import java.util.List;
+
+import compiler.ir.code.expr.*;
+import compiler.ir.code.stmt.*;
+
+public class Liveness {
+    /**
+     * Graf poteka.
+     */
+    public final ControlFlowGraph graph;
+
+    /**
+     * Žive začasne spremenljivke na začetku in na koncu vsakega bloka,
+     * indeksirane s številkami blokov.
+     */
+    private final BitSet[] liveIn;
+    private final BitSet[] liveOut;
+
+    /**
+     * Izračuna živost začasnih spremenljivk v grafu.
+     * Začasne spremenljivke morajo biti oštevilčene zaporedno
+     * (glej `compiler.gen.TempAllocator`), saj jih hranimo v bitnih množicah.
+     */
+    public Liveness(ControlFlowGraph graph) {
+        requireNonNull(graph);
+        this.graph = graph;
+        var size = graph.blocks.size();
+        this.liveIn = new BitSet[size];
+        this.liveOut = new BitSet[size];
+        var uses = new BitSet[size];
+        var defs = new BitSet[size];
+        for (var block : graph.blocks) {
+            liveIn[block.index] = new BitSet();
+            liveOut[block.index] = new BitSet();
+            uses[block.index] = new BitSet();
+            defs[block.index] = new BitSet();
+            // Uporabe pred prvo definicijo v bloku
+            for (var stmt : block.statements) {
+                var use = new BitSet();
+                uses(stmt, use);
+                use.andNot(defs[block.index]);
+                uses[block.index].or(use);
+                var def = def(stmt);
+                if (def >= 0) {
+                    defs[block.index].set(def);
+                }
+            }
+        }
+
+        // Iterativni izračun v obratnem vrstnem redu (živost se širi nazaj)
+        List<BasicBlock> order = graph.reversePostorder();
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = order.size() - 1; i >= 0; i--) {
+                var block = order.get(i);
+                var out = new BitSet();
+                for (var successor : block.successors) {
+                    out.or(liveIn[successor.index]);
+                }
+                var in = (BitSet) out.clone();
+                in.andNot(defs[block.index]);
+                in.or(uses[block.index]);
+                if (!in.equals(liveIn[block.index]) || !out.equals(liveOut[block.index])) {
+                    liveIn[block.index] = in;
+                    liveOut[block.index] = out;
+                    changed = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return žive začasne spremenljivke na začetku bloka
+     */
+    public BitSet liveIn(BasicBlock block) {
+        return liveIn[block.index];
+    }
+
+    /**
+     * @return žive začasne spremenljivke na koncu bloka
+     */
+    public BitSet liveOut(BasicBlock block) {
+        return liveOut[block.index];
+    }
+
+    // ----------- pomožne funkcije -----------
+
+    /**
+     * @return začasna spremenljivka, ki jo stavek definira, ali -1
+     */
+    public static int def(IRStmt stmt) {
+        if (stmt instanceof MoveStmt move && move.dst instanceof TempExpr temp) {
+            return temp.temp.id;
+        }
+        return -1;
+    }
+
+    /**
+     * V množico doda začasne spremenljivke, ki jih stavek bere.
+     */
+    public static void uses(IRStmt stmt, BitSet uses) {
+        if (stmt instanceof CJumpStmt cjump) {
+            uses(cjump.condition, uses);
+        } else if (stmt instanceof ExpStmt exp) {
+            uses(exp.expr, uses);
+        } else if (stmt instanceof MoveStmt move) {
+            if (move.dst instanceof MemExpr mem) {
+                uses(mem.expr, uses);
+            }
+            uses(move.src, uses);
+        } else if (stmt instanceof SeqStmt seq) {
+            seq.statements.forEach(s -> uses(s, uses));
+        }
+    }
+
+    private static void uses(IRExpr expr, BitSet uses) {
+        if (expr instanceof BinopExpr binop) {
+            uses(binop.lhs, uses);
+            uses(binop.rhs, uses);
+        } else if (expr instanceof CallExpr call) {
+            call.args.forEach(arg -> uses(arg, uses));
+        } else if (expr instanceof EseqExpr eseq) {
+            uses(eseq.stmt, uses);
+            uses(eseq.expr, uses);
+        } else if (expr instanceof MemExpr mem) {
+            uses(mem.expr, uses);
+        } else if (expr instanceof TempExpr temp) {
+            uses.set(temp.temp.id);
+        }
+    }
+}
@@ -7,6 +7,8 @@ package compiler.ir.chunk;
 
 import static common.RequireNonNull.requireNonNull;
 
+import java.util.Map;
+
 import compiler.frm.Access;
 import compiler.frm.Frame;
 import compiler.ir.code.stmt.IRStmt;
@@ -52,10 +54,28 @@ public abstract class Chunk {
          */
         public final IRStmt code;
 
+        /**
+         * Preslikava iz label v indekse stavkov linearizirane kode.
+         * Za nelinearizirano kodo je preslikava prazna.
+         */
+        public final Map<Frame.Label, Integer> labelIndices;
+
+        /**
+         * Število začasnih spremenljivk.
+         * Začasne spremenljivke linearizirane kode so oštevilčene z `0..tempCount-1`.
+         */
+        public final int tempCount;
+
         public CodeChunk(Frame frame, IRStmt code) {
-            requireNonNull(frame, code);
+            this(frame, code, Map.of(), 0);
+        }
+
+        public CodeChunk(Frame frame, IRStmt code, Map<Frame.Label, Integer> labelIndices, int tempCount) {
+            requireNonNull(frame, code, labelIndices);
             this.frame = frame;
             this.code = code;
+            this.labelIndices = labelIndices;
+            this.tempCount = tempCount;
         }
 
         @Override
@@ -0,0 +1,198 @@
+/**
+ * @ Description: Zlaganje konstant in algebrske poenostavitve vmesne kode.
+ */
+
+package compiler.ir.opt;
+
+import static common.RequireNonNull.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import compiler.ir.chunk.Chunk;
+import compiler.ir.code.expr.*;
+import compiler.ir.code.stmt.*;
+
+public class ConstantFolder {
+    /**
+     * Število vozlišč, ki jih je optimizacija odstranila.
+     */
+    private int removedNodes = 0;
+
+    /**
+     * Optimizira kodo vseh fragmentov kode.
+     *
+     * @return fragmenti z optimizirano kodo (ostali fragmenti so nespremenjeni)
+     */
+    public List<Chunk> fold(List<Chunk> chunks) {
+        requireNonNull(chunks);
+        var result = new ArrayList<Chunk>(chunks.size());
+        for (var chunk : chunks) {
+            if (chunk instanceof Chunk.CodeChunk code) {
+                var before = NodeCounter.count(code.code);
+                var folded = fold(code.code);
+                removedNodes += before - NodeCounter.count(folded);
+                result.add(new Chunk.CodeChunk(code.frame, folded));
+            } else {
+                result.add(chunk);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return število vozlišč, ki jih je optimizacija odstranila
+     */
+    public int removedNodes() {
+        return removedNodes;
+    }
+
+    // --------- stavki ----------
+
+    private IRStmt fold(IRStmt stmt) {
+        if (stmt instanceof CJumpStmt cjump) {
+            var condition = fold(cjump.condition);
+            if (condition instanceof ConstantExpr constant) {
+                return new JumpStmt(constant.constant != 0 ? cjump.thenLabel : cjump.elseLabel);
+            }
+            return new CJumpStmt(condition, cjump.thenLabel, cjump.elseLabel);
+        } else if (stmt instanceof ExpStmt exp) {
+            return new ExpStmt(fold(exp.expr));
+        } else if (stmt instanceof JumpStmt || stmt instanceof LabelStmt) {
+            return stmt;
+        } else if (stmt instanceof MoveStmt move) {
+            return new MoveStmt(fold(move.dst), fold(move.src));
+        } else if (stmt instanceof SeqStmt seq) {
+            var statements = new ArrayList<IRStmt>(seq.statements.size());
+            for (var s : seq.statements) {
+                statements.add(fold(s));
+            }
+            return new SeqStmt(statements);
+        } else {
+            throw new IllegalArgumentException("Unknown stmt type");
+        }
+    }
+
+    // --------- izrazi ----------
+
+    private IRExpr fold(IRExpr expr) {
+        if (expr instanceof BinopExpr binop) {
+            return fold(binop);
+        } else if (expr instanceof CallExpr call) {
+            var args = new ArrayList<IRExpr>(call.args.size());
+            for (var arg : call.args) {
+                args.add(fold(arg));
+            }
+            return new CallExpr(call.label, args);
+        } else if (expr instanceof ConstantExpr || expr instanceof NameExpr || expr instanceof TempExpr) {
+            return expr;
+        } else if (expr instanceof EseqExpr eseq) {
+            return new EseqExpr(fold(eseq.stmt), fold(eseq.expr));
+        } else if (expr instanceof MemExpr mem) {
+            return new MemExpr(fold(mem.expr));
+        } else {
+            throw new IllegalArgumentException("Unknown expr type");
+        }
+    }
+
+    private IRExpr fold(BinopExpr binop) {
+        var lhs = fold(binop.lhs);
+        var rhs = fold(binop.rhs);
+        var op = binop.op;
+
+        // c1 op c2
+        if (lhs instanceof ConstantExpr left && rhs instanceof ConstantExpr right) {
+            var value = evaluate(left.constant, right.constant, op);
+            if (value != null) {
+                return new ConstantExpr(value);
+            }
+            return new BinopExpr(lhs, rhs, op);
+        }
+
+        // (x ± c1) ± c2 -> x + (±c1 ± c2)
+        if ((op == BinopExpr.Operator.ADD || op == BinopExpr.Operator.SUB)
+                && rhs instanceof ConstantExpr right
+                && lhs instanceof BinopExpr inner
+                && (inner.op == BinopExpr.Operator.ADD || inner.op == BinopExpr.Operator.SUB)
+                && inner.rhs instanceof ConstantExpr innerRight) {
+            var offset = (inner.op == BinopExpr.Operator.ADD ? innerRight.constant : -innerRight.constant)
+                    + (op == BinopExpr.Operator.ADD ? right.constant : -right.constant);
+            if (offset == 0) {
+                return inner.lhs;
+            }
+            return new BinopExpr(inner.lhs, new ConstantExpr(offset), BinopExpr.Operator.ADD);
+        }
+
+        // Algebrske identitete
+        switch (op) {
+            case ADD -> {
+                if (isConstant(rhs, 0)) return lhs;
+                if (isConstant(lhs, 0)) return rhs;
+            }
+            case SUB -> {
+                if (isConstant(rhs, 0)) return lhs;
+            }
+            case MUL -> {
+                if (isConstant(rhs, 1)) return lhs;
+                if (isConstant(lhs, 1)) return rhs;
+                if (isConstant(rhs, 0) && isPure(lhs)) return rhs;
+                if (isConstant(lhs, 0) && isPure(rhs)) return lhs;
+            }
+            case DIV -> {
+                if (isConstant(rhs, 1)) return lhs;
+            }
+            default -> {}
+        }
+        return new BinopExpr(lhs, rhs, op);
+    }
+
+    // ----------- pomožne funkcije -----------
+
+    /**
+     * Izračuna vrednost binarnega izraza nad konstantama.
+     *
+     * @return vrednost izraza ali `null`, če se izraz ne sme izračunati
+     *         med prevajanjem (deljenje z 0 se mora zgoditi med izvajanjem)
+     */
+    private static Integer evaluate(int left, int right, BinopExpr.Operator op) {
+        return switch (op) {
+            case ADD -> left + right;
+            case SUB -> left - right;
+            case MUL -> left * right;
+            case DIV -> right == 0 ? null : left / right;
+            case MOD -> right == 0 ? null : left % right;
+            case AND -> toInt(left != 0 && right != 0);
+            case OR  -> toInt(left != 0 || right != 0);
+            case EQ  -> toInt(left == right);
+            case NEQ -> toInt(left != right);
+            case LT  -> toInt(left < right);
+            case GT  -> toInt(left > right);
+            case LEQ -> toInt(left <= right);
+            case GEQ -> toInt(left >= right);
+        };
+    }
+
+    private static boolean isConstant(IRExpr expr, int value) {
+        return expr instanceof ConstantExpr constant && constant.constant == value;
+    }
+
+    /**
+     * Izraz je čist, če njegov izračun nima stranskih učinkov
+     * in se ne more končati z napako (npr. z branjem ali deljenjem).
+     */
+    static boolean isPure(IRExpr expr) {
+        if (expr instanceof ConstantExpr || expr instanceof NameExpr || expr instanceof TempExpr) {
+            return true;
+        } else if (expr instanceof BinopExpr binop) {
+            return binop.op != BinopExpr.Operator.DIV
+                && binop.op != BinopExpr.Operator.MOD
+                && isPure(binop.lhs)
+                && isPure(binop.rhs);
+        }
+        return false;
+    }
+
+    private static int toInt(boolean bool) {
+        return bool ? 1 : 0;
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * @ Description: Odstranjevanje mrtve kode iz linearizirane vmesne kode.
+ */
+
+package compiler.ir.opt;
+
+import static common.RequireNonNull.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import compiler.frm.Frame;
+import compiler.ir.cfg.ControlFlowGraph;
+import compiler.ir.chunk.Chunk.CodeChunk;
+import compiler.ir.code.stmt.*;
+
+public class DeadCodeEliminator {
+    /**
+     * Število stavkov, ki jih je optimizacija odstranila.
+     */
+    private int removedStatements = 0;
+
+    /**
+     * Iz linearizirane kode fragmenta odstrani:
+     * - nedosegljive osnovne bloke,
+     * - skoke na labelo, ki takoj sledi skoku,
+     * - labele, na katere ne skoči noben skok,
+     * - stavke `ExpStmt`, katerih izraz nima stranskih učinkov.
+     *
+     * Koraki se ponavljajo, dokler se koda spreminja.
+     */
+    public SeqStmt eliminate(CodeChunk chunk) {
+        requireNonNull(chunk);
+        if (!(chunk.code instanceof SeqStmt seq)) {
+            throw new RuntimeException("Linearize IR!");
+        }
+        var statements = seq.statements;
+        var before = statements.size();
+        while (true) {
+            var previous = statements;
+            statements = removeUnreachable(new CodeChunk(chunk.frame, new SeqStmt(statements)));
+            statements = removeJumpsToNext(statements);
+            statements = removeUnusedLabels(statements);
+            statements = removePureExpressions(statements);
+            if (statements.equals(previous)) {
+                break;
+            }
+        }
+        removedStatements += before - statements.size();
+        return new SeqStmt(statements);
+    }
+
+    /**
+     * @return število stavkov, ki jih je optimizacija odstranila
+     */
+    public int removedStatements() {
+        return removedStatements;
+    }
+
+    // ----------- koraki optimizacije -----------
+
+    private List<IRStmt> removeUnreachable(CodeChunk chunk) {
+        var graph = ControlFlowGraph.build(chunk);
+        var reachable = new boolean[graph.blocks.size()];
+        for (var block : graph.reversePostorder()) {
+            reachable[block.index] = true;
+        }
+        var result = new ArrayList<IRStmt>();
+        for (var block : graph.blocks) {
+            if (reachable[block.index]) {
+                result.addAll(block.statements);
+            }
+        }
+        return result;
+    }
+
+    private List<IRStmt> removeJumpsToNext(List<IRStmt> statements) {
+        var result = new ArrayList<IRStmt>(statements.size());
+        for (int i = 0; i < statements.size(); i++) {
+            var stmt = statements.get(i);
+            var next = i + 1 < statements.size() ? statements.get(i + 1) : null;
+            if (stmt instanceof JumpStmt jump && next instanceof LabelStmt label && jump.label.equals(label.label)) {
+                continue;
+            }
+            if (stmt instanceof CJumpStmt cjump && cjump.thenLabel.equals(cjump.elseLabel)) {
+                if (!ConstantFolder.isPure(cjump.condition)) {
+                    result.add(new ExpStmt(cjump.condition));
+                }
+                if (!(next instanceof LabelStmt label && label.label.equals(cjump.thenLabel))) {
+                    result.add(new JumpStmt(cjump.thenLabel));
+                }
+                continue;
+            }
+            result.add(stmt);
+        }
+        return result;
+    }
+
+    private List<IRStmt> removeUnusedLabels(List<IRStmt> statements) {
+        Set<Frame.Label> used = new HashSet<>();
+        for (var stmt : statements) {
+            if (stmt instanceof JumpStmt jump) {
+                used.add(jump.label);
+            } else if (stmt instanceof CJumpStmt cjump) {
+                used.add(cjump.thenLabel);
+                used.add(cjump.elseLabel);
+            }
+        }
+        var result = new ArrayList<IRStmt>(statements.size());
+        for (var stmt : statements) {
+            if (!(stmt instanceof LabelStmt label) || used.contains(label.label)) {
+                result.add(stmt);
+            }
+        }
+        return result;
+    }
+
+    private List<IRStmt> removePureExpressions(List<IRStmt> statements) {
+        var result = new ArrayList<IRStmt>(statements.size());
+        for (var stmt : statements) {
+            if (!(stmt instanceof ExpStmt exp) || !ConstantFolder.isPure(exp.expr)) {
+                result.add(stmt);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * @ Description: Štetje vozlišč vmesne kode.
+ */
+
+package compiler.ir.opt;
+
+import compiler.ir.code.IRNode;
+import compiler.ir.code.expr.*;
+import compiler.ir.code.stmt.*;
+
+public class NodeCounter {
+    private NodeCounter() {}
+
+    /**
+     * @return število vozlišč v drevesu vmesne kode
+     */
+    public static int count(IRNode node) {
+        if (node instanceof BinopExpr binop) {
+            return 1 + count(binop.lhs) + count(binop.rhs);
+        } else if (node instanceof CallExpr call) {
+            return 1 + call.args.stream().mapToInt(NodeCounter::count).sum();
+        } else if (node instanceof EseqExpr eseq) {
+            return 1 + count(eseq.stmt) + count(eseq.expr);
+        } else if (node instanceof MemExpr mem) {
+            return 1 + count(mem.expr);
+        } else if (node instanceof CJumpStmt cjump) {
+            return 1 + count(cjump.condition);
+        } else if (node instanceof ExpStmt exp) {
+            return 1 + count(exp.expr);
+        } else if (node instanceof MoveStmt move) {
+            return 1 + count(move.dst) + count(move.src);
+        } else if (node instanceof SeqStmt seq) {
+            return 1 + seq.statements.stream().mapToInt(NodeCounter::count).sum();
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,391 @@
+/**
+ * @ Description: Zapis datoteke razreda JVM (različica 49, brez okvirjev StackMapTable).
+ */
+
+package compiler.jvm;
+
+import static common.RequireNonNull.requireNonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class ClassWriter {
+    /**
+     * Različica 49 (Java 5) ne zahteva okvirjev StackMapTable;
+     * kodo preveri preverjevalnik s sklepanjem tipov.
+     */
+    private static final int VERSION = 49;
+
+    static final int ACC_PUBLIC = 0x0001;
+    static final int ACC_STATIC = 0x0008;
+    static final int ACC_SUPER = 0x0020;
+
+    // --- ukazi JVM, ki jih uporabljamo ---
+
+    static final int ICONST_0 = 0x03;
+    static final int LCONST_1 = 0x0a;
+    static final int BIPUSH = 0x10;
+    static final int SIPUSH = 0x11;
+    static final int LDC = 0x12;
+    static final int LDC_W = 0x13;
+    static final int ILOAD = 0x15;
+    static final int ALOAD_0 = 0x2a;
+    static final int IALOAD = 0x2e;
+    static final int ISTORE = 0x36;
+    static final int IASTORE = 0x4f;
+    static final int POP = 0x57;
+    static final int IADD = 0x60;
+    static final int LADD = 0x61;
+    static final int ISUB = 0x64;
+    static final int IMUL = 0x68;
+    static final int IDIV = 0x6c;
+    static final int IREM = 0x70;
+    static final int ISHR = 0x7a;
+    static final int IFEQ = 0x99;
+    static final int IFNE = 0x9a;
+    static final int IF_ICMPEQ = 0x9f;
+    static final int IF_ICMPNE = 0xa0;
+    static final int IF_ICMPLT = 0xa1;
+    static final int IF_ICMPGE = 0xa2;
+    static final int IF_ICMPGT = 0xa3;
+    static final int IF_ICMPLE = 0xa4;
+    static final int GOTO = 0xa7;
+    static final int IRETURN = 0xac;
+    static final int GETSTATIC = 0xb2;
+    static final int PUTSTATIC = 0xb3;
+    static final int INVOKEVIRTUAL = 0xb6;
+    static final int INVOKESTATIC = 0xb8;
+    static final int WIDE = 0xc4;
+
+    /**
+     * Največja dolžina kode metode; skoki uporabljajo 16-bitne odmike.
+     */
+    static final int MAX_CODE_LENGTH = Short.MAX_VALUE;
+
+    /**
+     * Ime razreda (npr. `pins/Program`).
+     */
+    final String className;
+
+    /**
+     * Konstantni bazen; vnosi so zapisani zaporedno, indeksi se začnejo z 1.
+     */
+    private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+    private final DataOutputStream poolOut = new DataOutputStream(pool);
+    private final Map<String, Integer> poolIndices = new HashMap<>();
+    private int poolSize = 1;
+
+    private final List<byte[]> fields = new ArrayList<>();
+    private final List<byte[]> methods = new ArrayList<>();
+
+    ClassWriter(String className) {
+        requireNonNull(className);
+        this.className = className;
+    }
+
+    /**
+     * Doda statično polje.
+     */
+    void field(int access, String name, String descriptor) {
+        var out = new ByteArrayOutputStream();
+        var data = new DataOutputStream(out);
+        write(() -> {
+            data.writeShort(access);
+            data.writeShort(utf8(name));
+            data.writeShort(utf8(descriptor));
+            data.writeShort(0);
+        });
+        fields.add(out.toByteArray());
+    }
+
+    /**
+     * Doda metodo s podano kodo.
+     */
+    void method(int access, String name, String descriptor, Code code) {
+        if (code.length > MAX_CODE_LENGTH) {
+            throw new JvmGenerator.UnsupportedException("method " + name + " is too large");
+        }
+        code.resolve();
+        var out = new ByteArrayOutputStream();
+        var data = new DataOutputStream(out);
+        write(() -> {
+            data.writeShort(access);
+            data.writeShort(utf8(name));
+            data.writeShort(utf8(descriptor));
+            data.writeShort(1);
+            data.writeShort(utf8("Code"));
+            data.writeInt(12 + code.length);
+            data.writeShort(code.maxStack);
+            data.writeShort(code.maxLocals);
+            data.writeInt(code.length);
+            data.write(code.bytes, 0, code.length);
+            data.writeShort(0); // tabela izjem
+            data.writeShort(0); // atributi
+        });
+        methods.add(out.toByteArray());
+    }
+
+    /**
+     * Vrne vsebino datoteke razreda.
+     */
+    byte[] toByteArray() {
+        var thisClass = classRef(className);
+        var superClass = classRef("java/lang/Object");
+        var out = new ByteArrayOutputStream();
+        var data = new DataOutputStream(out);
+        write(() -> {
+            data.writeInt(0xCAFEBABE);
+            data.writeShort(0);
+            data.writeShort(VERSION);
+            data.writeShort(poolSize);
+            pool.writeTo(data);
+            data.writeShort(ACC_PUBLIC | ACC_SUPER);
+            data.writeShort(thisClass);
+            data.writeShort(superClass);
+            data.writeShort(0); // vmesniki
+            data.writeShort(fields.size());
+            for (var field : fields) data.write(field);
+            data.writeShort(methods.size());
+            for (var method : methods) data.write(method);
+            data.writeShort(0); // atributi
+        });
+        return out.toByteArray();
+    }
+
+    // --------- konstantni bazen ----------
+
+    int utf8(String value) {
+        return constant("U" + value, () -> {
+            poolOut.writeByte(1);
+            poolOut.writeUTF(value);
+        });
+    }
+
+    int integer(int value) {
+        return constant("I" + value, () -> {
+            poolOut.writeByte(3);
+            poolOut.writeInt(value);
+        });
+    }
+
+    int classRef(String name) {
+        var nameIndex = utf8(name);
+        return constant("C" + name, () -> {
+            poolOut.writeByte(7);
+            poolOut.writeShort(nameIndex);
+        });
+    }
+
+    int fieldRef(String owner, String name, String descriptor) {
+        return memberRef(9, owner, name, descriptor);
+    }
+
+    int methodRef(String owner, String name, String descriptor) {
+        return memberRef(10, owner, name, descriptor);
+    }
+
+    private int memberRef(int tag, String owner, String name, String descriptor) {
+        var ownerIndex = classRef(owner);
+        var nameIndex = utf8(name);
+        var descriptorIndex = utf8(descriptor);
+        var nameAndType = constant("N" + name + ":" + descriptor, () -> {
+            poolOut.writeByte(12);
+            poolOut.writeShort(nameIndex);
+            poolOut.writeShort(descriptorIndex);
+        });
+        return constant(tag + owner + "." + name + ":" + descriptor, () -> {
+            poolOut.writeByte(tag);
+            poolOut.writeShort(ownerIndex);
+            poolOut.writeShort(nameAndType);
+        });
+    }
+
+    private int constant(String key, Writer writer) {
+        var index = poolIndices.get(key);
+        if (index == null) {
+            if (poolSize == 0xFFFF) {
+                throw new JvmGenerator.UnsupportedException("constant pool is full");
+            }
+            write(writer);
+            index = poolSize++;
+            poolIndices.put(key, index);
+        }
+        return index;
+    }
+
+    private static void write(Writer writer) {
+        try {
+            writer.write();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private interface Writer {
+        void write() throws IOException;
+    }
+
+    // --------- koda metode ----------
+
+    /**
+     * Koda metode; sledi tudi globini sklada operandov.
+     */
+    static class Code {
+        private byte[] bytes = new byte[256];
+        private int length;
+        private int depth;
+        private int maxStack;
+        private int maxLocals;
+
+        /**
+         * Skoki, ki čakajo na razrešitev oznake.
+         */
+        private final List<Jump> jumps = new ArrayList<>();
+
+        Code(int maxLocals) {
+            this.maxLocals = maxLocals;
+        }
+
+        /**
+         * Doda ukaz brez operandov.
+         *
+         * @param stackEffect sprememba globine sklada po izvedbi ukaza
+         */
+        void op(int opcode, int stackEffect) {
+            u1(opcode);
+            stack(stackEffect);
+        }
+
+        /**
+         * Doda ukaz s 16-bitnim operandom (npr. indeks v konstantnem bazenu).
+         */
+        void op16(int opcode, int operand, int stackEffect) {
+            u1(opcode);
+            u2(operand);
+            stack(stackEffect);
+        }
+
+        /**
+         * Naloži celoštevilsko konstanto.
+         */
+        void constant(ClassWriter writer, int value) {
+            if (value >= -1 && value <= 5) {
+                op(ICONST_0 + value, 1);
+            } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                u1(BIPUSH);
+                u1(value);
+                stack(1);
+            } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                op16(SIPUSH, value, 1);
+            } else {
+                var index = writer.integer(value);
+                if (index <= 0xFF) {
+                    u1(LDC);
+                    u1(index);
+                    stack(1);
+                } else {
+                    op16(LDC_W, index, 1);
+                }
+            }
+        }
+
+        /**
+         * Ukaz nad lokalno spremenljivko (`ILOAD` ali `ISTORE`).
+         */
+        void local(int opcode, int index, int stackEffect) {
+            maxLocals = Math.max(maxLocals, index + 1);
+            if (index <= 0xFF) {
+                u1(opcode);
+                u1(index);
+            } else {
+                u1(WIDE);
+                u1(opcode);
+                u2(index);
+            }
+            stack(stackEffect);
+        }
+
+        /**
+         * Pogojni ali brezpogojni skok na oznako.
+         */
+        void jump(int opcode, Label target, int stackEffect) {
+            jumps.add(new Jump(length, target));
+            u1(opcode);
+            u2(0);
+            stack(stackEffect);
+        }
+
+        /**
+         * Postavi oznako na trenutni položaj v kodi.
+         */
+        void mark(Label label) {
+            label.position = length;
+        }
+
+        /**
+         * Nastavi globino sklada (npr. po brezpogojnem skoku).
+         */
+        void depth(int depth) {
+            this.depth = depth;
+        }
+
+        int depth() {
+            return depth;
+        }
+
+        private void resolve() {
+            for (var jump : jumps) {
+                if (jump.target.position < 0) {
+                    throw new IllegalStateException("Unresolved jump target!");
+                }
+                var offset = jump.target.position - jump.position;
+                bytes[jump.position + 1] = (byte) (offset >> 8);
+                bytes[jump.position + 2] = (byte) offset;
+            }
+        }
+
+        private void stack(int effect) {
+            depth += effect;
+            maxStack = Math.max(maxStack, depth);
+        }
+
+        private void u1(int value) {
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, length * 2);
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        private void u2(int value) {
+            u1(value >> 8);
+            u1(value);
+        }
+    }
+
+    /**
+     * Skok, ki čaka na razrešitev oznake.
+     */
+    private static class Jump {
+        final int position;
+        final Label target;
+
+        Jump(int position, Label target) {
+            this.position = position;
+            this.target = target;
+        }
+    }
+
+    /**
+     * Oznaka v kodi metode.
+     */
+    static class Label {
+        private int position = -1;
+    }
+}
@@ -0,0 +1,350 @@
+/**
+ * @ Description: Prevajanje linearizirane vmesne kode v bajtno kodo JVM.
+ * Vsaka funkcija postane statična metoda enega razreda, ki dela nad
+ * pomnilnikom v obliki tabele celih števil.
+ */
+
+package compiler.jvm;
+
+import static common.RequireNonNull.requireNonNull;
+import static compiler.jvm.ClassWriter.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import common.Constants;
+import compiler.frm.Frame;
+import compiler.gen.Memory;
+import compiler.gen.ReachableFunctions;
+import compiler.ir.chunk.Chunk.CodeChunk;
+import compiler.ir.code.expr.*;
+import compiler.ir.code.stmt.*;
+import stdlib.StandardFunctions;
+
+public class JvmGenerator {
+    /**
+     * Ime ustvarjenega razreda.
+     */
+    static final String CLASS_NAME = "pins/Program";
+
+    /**
+     * Ime statičnega polja z izvajalnim okoljem (standardno knjižnico).
+     */
+    static final String RUNTIME_FIELD = "runtime";
+
+    /**
+     * Ime statičnega polja s številom izvedenih klicev funkcij.
+     */
+    static final String CALLS_FIELD = "calls";
+
+    /**
+     * Opis metode funkcije: (pomnilnik, FP klicatelja, SP klicatelja) -> rezultat.
+     */
+    static final String METHOD_DESCRIPTOR = "([III)I";
+
+    /**
+     * Ime metode funkcije `main` (prva prevedena funkcija).
+     */
+    static final String MAIN_METHOD = "f0";
+
+    private static final String RUNTIME_CLASS = "compiler/jvm/JvmRuntime";
+    private static final String RUNTIME_DESCRIPTOR = "L" + RUNTIME_CLASS + ";";
+
+    /**
+     * Lokalne spremenljivke metode: pomnilnik, FP, SP, nato začasne spremenljivke.
+     */
+    private static final int MEMORY = 0;
+    private static final int FP = 1;
+    private static final int SP = 2;
+    private static final int TEMPS = 3;
+
+    /**
+     * Pomnilnik navideznega stroja.
+     * Iz njega razrešimo kodo klicanih funkcij.
+     */
+    private final Memory memory;
+
+    /**
+     * Funkcije, ki jih prevedemo v metode (indeks metode je številka funkcije).
+     */
+    private ReachableFunctions functions;
+
+    private ClassWriter writer;
+
+    // --- stanje trenutno prevajane funkcije ---
+
+    private Code code;
+    private Map<Frame.Label, Label> labels;
+
+    public JvmGenerator(Memory memory) {
+        requireNonNull(memory);
+        this.memory = memory;
+    }
+
+    /**
+     * Prevede funkcijo `main` in vse funkcije, ki so iz nje dosegljive s klici.
+     *
+     * @throws UnsupportedException če kode katerekoli od teh funkcij ni mogoče
+     *         prevesti (celoten program tedaj izvedemo z interpreterjem).
+     */
+    public JvmProgram generate(CodeChunk main) throws UnsupportedException {
+        requireNonNull(main);
+        writer = new ClassWriter(CLASS_NAME);
+        writer.field(ACC_PUBLIC | ACC_STATIC, RUNTIME_FIELD, RUNTIME_DESCRIPTOR);
+        writer.field(ACC_PUBLIC | ACC_STATIC, CALLS_FIELD, "J");
+        functions = new ReachableFunctions(memory, main);
+        for (var chunk = functions.next(); chunk != null; chunk = functions.next()) {
+            generateChunk(chunk, functions.index(chunk.frame.label, chunk));
+        }
+        return new JvmProgram(writer.toByteArray(), functions.size(), memory.size, Constants.WordSize, functions.strings);
+    }
+
+    static String methodName(int index) {
+        return "f" + index;
+    }
+
+    private void generateChunk(CodeChunk chunk, int index) {
+        if (!(chunk.code instanceof SeqStmt seq)) {
+            throw new UnsupportedException("code of " + chunk.frame.label + " is not linearized");
+        }
+        code = new Code(TEMPS + chunk.tempCount);
+        labels = new HashMap<>();
+
+        // Štetje klicev (kot štetje izvedenih stavkov v interpreterju)
+        var calls = writer.fieldRef(CLASS_NAME, CALLS_FIELD, "J");
+        code.op16(GETSTATIC, calls, 2);
+        code.op(LCONST_1, 2);
+        code.op(LADD, -2);
+        code.op16(PUTSTATIC, calls, -2);
+        // Nov klicni zapis: shrani FP klicatelja, FP prestavi na mesto SP in zmanjša SP
+        code.op(ALOAD_0, 1);
+        code.local(ILOAD, SP, 1);
+        code.constant(writer, chunk.frame.oldFPOffset());
+        code.op(ISUB, -1);
+        wordIndex();
+        code.local(ILOAD, FP, 1);
+        code.op(IASTORE, -3);
+        code.local(ILOAD, SP, 1);
+        code.local(ISTORE, FP, -1);
+        code.local(ILOAD, SP, 1);
+        code.constant(writer, chunk.frame.size());
+        code.op(ISUB, -1);
+        code.local(ISTORE, SP, -1);
+        // Preverjevalnik zahteva, da so začasne spremenljivke nastavljene pred branjem
+        for (int temp = 0; temp < chunk.tempCount; temp++) {
+            code.constant(writer, 0);
+            code.local(ISTORE, TEMPS + temp, -1);
+        }
+
+        for (var stmt : seq.statements) {
+            generate(stmt);
+        }
+
+        // Rezultat je na vrhu klicnega zapisa
+        code.op(ALOAD_0, 1);
+        code.local(ILOAD, FP, 1);
+        wordIndex();
+        code.op(IALOAD, -1);
+        code.op(IRETURN, -1);
+        writer.method(ACC_PUBLIC | ACC_STATIC, methodName(index), METHOD_DESCRIPTOR, code);
+    }
+
+    // --------- stavki ----------
+
+    private void generate(IRStmt stmt) {
+        if (stmt instanceof CJumpStmt cjump) {
+            condition(cjump.condition, label(cjump.thenLabel));
+            code.jump(GOTO, label(cjump.elseLabel), 0);
+        } else if (stmt instanceof ExpStmt exp) {
+            generate(exp.expr);
+            code.op(POP, -1);
+        } else if (stmt instanceof JumpStmt jump) {
+            code.jump(GOTO, label(jump.label), 0);
+        } else if (stmt instanceof LabelStmt label) {
+            code.mark(label(label.label));
+        } else if (stmt instanceof MoveStmt move) {
+            generate(move);
+        } else if (stmt instanceof SeqStmt seq) {
+            seq.statements.forEach(this::generate);
+        } else {
+            throw new UnsupportedException("statement " + stmt.getClass().getSimpleName());
+        }
+    }
+
+    private void generate(MoveStmt move) {
+        if (move.dst instanceof MemExpr memExpr) {
+            code.op(ALOAD_0, 1);
+            generate(memExpr.expr);
+            wordIndex();
+            generate(move.src);
+            code.op(IASTORE, -3);
+        } else if (move.dst instanceof TempExpr tempExpr) {
+            generate(move.src);
+            code.local(ISTORE, TEMPS + tempExpr.temp.id, -1);
+        } else {
+            throw new UnsupportedException("MOVE into " + move.dst.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Skoči na <code>target</code>, če je pogoj izpolnjen; primerjave
+     * prevedemo neposredno v pogojne skoke.
+     */
+    private void condition(IRExpr condition, Label target) {
+        if (condition instanceof BinopExpr binop && comparison(binop.op) != -1) {
+            generate(binop.lhs);
+            generate(binop.rhs);
+            code.jump(comparison(binop.op), target, -2);
+        } else {
+            generate(condition);
+            code.jump(IFNE, target, -1);
+        }
+    }
+
+    // --------- izrazi ----------
+
+    private void generate(IRExpr expr) {
+        if (expr instanceof BinopExpr binop) {
+            generate(binop);
+        } else if (expr instanceof CallExpr call) {
+            generate(call);
+        } else if (expr instanceof ConstantExpr constant) {
+            code.constant(writer, constant.constant);
+        } else if (expr instanceof MemExpr mem) {
+            if (mem.expr instanceof NameExpr name && !ReachableFunctions.isRegister(name) && !functions.isWord(name.label)) {
+                throw new UnsupportedException("load of a reference from " + name.label);
+            }
+            code.op(ALOAD_0, 1);
+            generate(mem.expr);
+            wordIndex();
+            code.op(IALOAD, -1);
+        } else if (expr instanceof NameExpr name) {
+            if (name.label.name.equals(Constants.framePointer)) {
+                code.local(ILOAD, FP, 1);
+            } else if (name.label.name.equals(Constants.stackPointer)) {
+                code.local(ILOAD, SP, 1);
+            } else {
+                code.constant(writer, functions.address(name.label));
+            }
+        } else if (expr instanceof TempExpr temp) {
+            code.local(ILOAD, TEMPS + temp.temp.id, 1);
+        } else {
+            throw new UnsupportedException("expression " + expr.getClass().getSimpleName());
+        }
+    }
+
+    private void generate(BinopExpr binop) {
+        var comparison = comparison(binop.op);
+        generate(binop.lhs);
+        generate(binop.rhs);
+        if (comparison != -1) {
+            var isTrue = new Label();
+            var end = new Label();
+            code.jump(comparison, isTrue, -2);
+            code.constant(writer, 0);
+            code.jump(GOTO, end, 0);
+            code.depth(code.depth() - 1);
+            code.mark(isTrue);
+            code.constant(writer, 1);
+            code.mark(end);
+            return;
+        }
+        switch (binop.op) {
+            case ADD -> code.op(IADD, -1);
+            case SUB -> code.op(ISUB, -1);
+            case MUL -> code.op(IMUL, -1);
+            case DIV -> code.op(IDIV, -1);
+            case MOD -> code.op(IREM, -1);
+            case AND -> code.op16(INVOKESTATIC, writer.methodRef(RUNTIME_CLASS, "and", "(II)I"), -1);
+            case OR -> code.op16(INVOKESTATIC, writer.methodRef(RUNTIME_CLASS, "or", "(II)I"), -1);
+            default -> throw new UnsupportedException("operator " + binop.op);
+        }
+    }
+
+    private void generate(CallExpr call) {
+        var name = call.label.name;
+        var function = StandardFunctions.get(call.label);
+        if (function != null) {
+            if (call.args.size() != function.callArgs()) {
+                throw new UnsupportedException("call of " + name + " with " + call.args.size() + " arguments");
+            }
+            var method = switch (function) {
+                case print_int -> "printInt";
+                case print_str -> "printStr";
+                case print_log -> "printLog";
+                case rand_int -> "randInt";
+                case seed -> "seed";
+            };
+            code.op16(GETSTATIC, writer.fieldRef(CLASS_NAME, RUNTIME_FIELD, RUNTIME_DESCRIPTOR), 1);
+            // Statično povezavo (argument 0) preskočimo
+            for (int i = 1; i < call.args.size(); i++) {
+                generate(call.args.get(i));
+            }
+            var descriptor = "(" + "I".repeat(function.arity) + ")I";
+            code.op16(INVOKEVIRTUAL, writer.methodRef(RUNTIME_CLASS, method, descriptor), -function.arity);
+        } else if (memory.ldM(call.label) instanceof CodeChunk callee) {
+            // Argumente shrani na dno klicnega zapisa klicatelja
+            for (int i = 0; i < call.args.size(); i++) {
+                code.op(ALOAD_0, 1);
+                code.local(ILOAD, SP, 1);
+                code.constant(writer, i * Constants.WordSize);
+                code.op(IADD, -1);
+                wordIndex();
+                generate(call.args.get(i));
+                code.op(IASTORE, -3);
+            }
+            code.op(ALOAD_0, 1);
+            code.local(ILOAD, FP, 1);
+            code.local(ILOAD, SP, 1);
+            var calleeRef = writer.methodRef(CLASS_NAME, methodName(functions.index(call.label, callee)), METHOD_DESCRIPTOR);
+            code.op16(INVOKESTATIC, calleeRef, -2);
+        } else {
+            throw new UnsupportedException("call of " + name + ", which is not a function");
+        }
+    }
+
+    // ----------- pomožne funkcije -----------
+
+    /**
+     * Naslov na vrhu sklada pretvori v indeks besede v pomnilniku.
+     */
+    private void wordIndex() {
+        if (Integer.bitCount(Constants.WordSize) == 1) {
+            code.constant(writer, Integer.numberOfTrailingZeros(Constants.WordSize));
+            code.op(ISHR, -1);
+        } else {
+            code.constant(writer, Constants.WordSize);
+            code.op(IDIV, -1);
+        }
+    }
+
+    /**
+     * Ukaz, ki skoči, če je primerjava izpolnjena, oz. -1, če operator ni primerjava.
+     */
+    private static int comparison(BinopExpr.Operator op) {
+        return switch (op) {
+            case EQ -> IF_ICMPEQ;
+            case NEQ -> IF_ICMPNE;
+            case LT -> IF_ICMPLT;
+            case GT -> IF_ICMPGT;
+            case LEQ -> IF_ICMPLE;
+            case GEQ -> IF_ICMPGE;
+            default -> -1;
+        };
+    }
+
+    private Label label(Frame.Label label) {
+        return labels.computeIfAbsent(label, __ -> new Label());
+    }
+
+    /**
+     * Konstrukt, ki ga ne znamo prevesti v bajtno kodo JVM.
+     */
+    public static class UnsupportedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public UnsupportedException(String message) {
+            super(message);
+        }
+    }
+}
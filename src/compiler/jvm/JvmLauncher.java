@@ -0,0 +1,151 @@
+/**
+ * @ Description: Zagon programa, prevedenega v bajtno kodo JVM.
+ * Je tudi glavni razred samostojnega arhiva JAR (`--emit JAR`), zato ne
+ * uporablja razredov prevajalnika.
+ */
+
+package compiler.jvm;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+public class JvmLauncher {
+    /**
+     * Ime razreda programa v arhivu (glej <code>JvmGenerator.CLASS_NAME</code>).
+     */
+    static final String PROGRAM_CLASS = "pins.Program";
+
+    /**
+     * Vir v arhivu z velikostjo pomnilnika, velikostjo besede in nizi programa.
+     */
+    static final String PROGRAM_DATA = JvmGenerator.CLASS_NAME + ".data";
+
+    /**
+     * Velikost sklada niti, ki izvaja program; globino rekurzije
+     * prevedenega programa omejuje sklad JVM.
+     */
+    private static final long STACK_SIZE = 1L << 30;
+
+    /**
+     * Koda napake, s katero se konča prevajalnik (glej `Report`).
+     */
+    private static final int EXIT_ERROR_CODE = 99;
+
+    private JvmLauncher() {}
+
+    /**
+     * Izvede program iz arhiva JAR.
+     */
+    public static void main(String[] args) throws IOException, ClassNotFoundException {
+        var stream = JvmLauncher.class.getClassLoader().getResourceAsStream(PROGRAM_DATA);
+        if (stream == null) {
+            throw new IOException("Missing " + PROGRAM_DATA + "!");
+        }
+        int memorySize;
+        int wordSize;
+        Map<Integer, String> strings = new HashMap<>();
+        try (var in = new DataInputStream(new BufferedInputStream(stream))) {
+            memorySize = in.readInt();
+            wordSize = in.readInt();
+            var count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                var address = in.readInt();
+                strings.put(address, in.readUTF());
+            }
+        }
+
+        var program = Class.forName(PROGRAM_CLASS);
+        var failure = run(program, new JvmRuntime(strings, Optional.of(System.out)), memorySize, wordSize).failure;
+        System.out.flush();
+        if (failure instanceof StackOverflowError) {
+            System.err.println("INT: Stack overflow.");
+            System.exit(EXIT_ERROR_CODE);
+        } else if (failure instanceof ArrayIndexOutOfBoundsException) {
+            System.err.println("INT: Address out of bounds.");
+            System.exit(EXIT_ERROR_CODE);
+        } else if (failure != null) {
+            failure.printStackTrace();
+            System.exit(EXIT_ERROR_CODE);
+        }
+    }
+
+    /**
+     * Izvede funkcijo `main` v novi niti z velikim skladom.
+     */
+    static Execution run(Class<?> program, JvmRuntime runtime, int memorySize, int wordSize) {
+        var words = new int[memorySize / wordSize + 1];
+        var framePointer = memorySize - wordSize;
+        words[(framePointer + wordSize) / wordSize] = 999; // argument v funkcijo main
+
+        var execution = new Execution();
+        var thread = new Thread(null, () -> {
+            try {
+                program.getField(JvmGenerator.RUNTIME_FIELD).set(null, runtime);
+                var main = program.getMethod(JvmGenerator.MAIN_METHOD, int[].class, int.class, int.class);
+                main.invoke(null, words, framePointer, framePointer);
+                execution.executedCalls = program.getField(JvmGenerator.CALLS_FIELD).getLong(null);
+            } catch (InvocationTargetException e) {
+                execution.failure = e.getCause();
+            } catch (ReflectiveOperationException e) {
+                execution.failure = e;
+            } finally {
+                execution.measure();
+            }
+        }, "pins", STACK_SIZE);
+        thread.start();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            execution.failure = e;
+        }
+        return execution;
+    }
+
+    /**
+     * Izid izvajanja in poraba niti, ki je program izvajala
+     * (meritve faz v <code>Statistics</code> zajamejo le klicno nit).
+     */
+    public static class Execution {
+        /**
+         * Napaka, ki je prekinila izvajanje, oz. `null`.
+         */
+        public Throwable failure;
+
+        /**
+         * Procesorski čas niti v nanosekundah (-1, če meritev ni podprta).
+         */
+        public long cpuNanos = -1;
+
+        /**
+         * Število bajtov, ki jih je nit alocirala (-1, če meritev ni podprta).
+         */
+        public long allocatedBytes = -1;
+
+        /**
+         * Število izvedenih klicev funkcij.
+         */
+        public long executedCalls;
+
+        /**
+         * Izmeri porabo trenutne niti; pokličemo jo tik pred koncem niti.
+         */
+        @SuppressWarnings("deprecation")
+        private void measure() {
+            var threads = ManagementFactory.getThreadMXBean();
+            var id = Thread.currentThread().getId();
+            if (threads.isThreadCpuTimeSupported()) {
+                cpuNanos = threads.getThreadCpuTime(id);
+            }
+            if (threads instanceof com.sun.management.ThreadMXBean sunThreads && sunThreads.isThreadAllocatedMemorySupported()) {
+                allocatedBytes = sunThreads.getThreadAllocatedBytes(id);
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * @ Description: Program, preveden v bajtno kodo JVM, ki ga naložimo in izvedemo
+ * ali zapišemo v samostojen arhiv JAR.
+ */
+
+package compiler.jvm;
+
+import static common.RequireNonNull.requireNonNull;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import common.RequireNonNull;
+import common.Report;
+
+public class JvmProgram {
+    /**
+     * Razredi izvajalnega okolja, ki jih prepišemo v arhiv JAR.
+     */
+    private static final Class<?>[] RUNTIME_CLASSES = {
+        JvmLauncher.class, JvmLauncher.Execution.class, JvmRuntime.class, RequireNonNull.class
+    };
+
+    /**
+     * Vsebina datoteke razreda.
+     */
+    public final byte[] classFile;
+
+    /**
+     * Število prevedenih funkcij (metod).
+     */
+    public final int methodCount;
+
+    /**
+     * Velikost pomnilnika navideznega stroja.
+     */
+    public final int memorySize;
+
+    /**
+     * Velikost besede, s katero je program preveden.
+     */
+    public final int wordSize;
+
+    /**
+     * Nizi programa, indeksirani z naslovi.
+     */
+    public final Map<Integer, String> strings;
+
+    JvmProgram(byte[] classFile, int methodCount, int memorySize, int wordSize, Map<Integer, String> strings) {
+        requireNonNull(classFile, strings);
+        this.classFile = classFile;
+        this.methodCount = methodCount;
+        this.memorySize = memorySize;
+        this.wordSize = wordSize;
+        this.strings = strings;
+    }
+
+    /**
+     * Naloži razred in izvede funkcijo `main`.
+     *
+     * @return izid izvajanja s porabo niti, ki je program izvajala.
+     */
+    public JvmLauncher.Execution run(Optional<PrintStream> outputStream) {
+        requireNonNull(outputStream);
+        var program = new ProgramClassLoader().define(classFile);
+        var execution = JvmLauncher.run(program, new JvmRuntime(strings, outputStream), memorySize, wordSize);
+        var cause = execution.failure;
+        if (cause == null) {
+            return execution;
+        }
+        if (cause instanceof StackOverflowError) {
+            Report.error("INT: Stack overflow.");
+        }
+        if (cause instanceof ArrayIndexOutOfBoundsException) {
+            throw new IllegalArgumentException("Address out of bounds!", cause);
+        }
+        if (cause instanceof RuntimeException e) {
+            throw e;
+        }
+        if (cause instanceof Error e) {
+            throw e;
+        }
+        throw new RuntimeException(cause);
+    }
+
+    /**
+     * Zapiše izvršljiv arhiv JAR s programom in izvajalnim okoljem;
+     * poženemo ga z <code>java -jar</code>.
+     */
+    public void writeJar(Path path) throws IOException {
+        requireNonNull(path);
+        var manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(Attributes.Name.MAIN_CLASS, JvmLauncher.class.getName());
+        try (var jar = new JarOutputStream(Files.newOutputStream(path), manifest)) {
+            jar.putNextEntry(new JarEntry(JvmGenerator.CLASS_NAME + ".class"));
+            jar.write(classFile);
+            jar.closeEntry();
+
+            jar.putNextEntry(new JarEntry(JvmLauncher.PROGRAM_DATA));
+            var data = new DataOutputStream(jar);
+            data.writeInt(memorySize);
+            data.writeInt(wordSize);
+            data.writeInt(strings.size());
+            for (var string : strings.entrySet()) {
+                data.writeInt(string.getKey());
+                data.writeUTF(string.getValue());
+            }
+            data.flush();
+            jar.closeEntry();
+
+            for (var cls : RUNTIME_CLASSES) {
+                var name = cls.getName().replace('.', '/') + ".class";
+                try (var in = JvmProgram.class.getClassLoader().getResourceAsStream(name)) {
+                    if (in == null) {
+                        throw new IOException("Missing runtime class " + name + "!");
+                    }
+                    jar.putNextEntry(new JarEntry(name));
+                    in.transferTo(jar);
+                    jar.closeEntry();
+                }
+            }
+        }
+    }
+
+    /**
+     * Nalagalnik, ki iz bajtov ustvari razred programa.
+     */
+    private static class ProgramClassLoader extends ClassLoader {
+        ProgramClassLoader() {
+            super(JvmProgram.class.getClassLoader());
+        }
+
+        Class<?> define(byte[] classFile) {
+            return defineClass(null, classFile, 0, classFile.length);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * @ Description: Standardna knjižnica za programe, prevedene v bajtno kodo JVM.
+ * Je del izvajalnega okolja v samostojnem arhivu JAR, zato ne uporablja razredov prevajalnika.
+ */
+
+package compiler.jvm;
+
+import static common.RequireNonNull.requireNonNull;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+public class JvmRuntime {
+    /**
+     * Nizi programa, indeksirani z naslovi
+     * (prevedena koda dela le s celimi števili).
+     */
+    private final Map<Integer, String> strings;
+
+    /**
+     * Izhodni tok, kamor izpisujemo rezultate izvajanja programa.
+     * V primeru, da rezultatov ne želimo izpisovati, je `null`.
+     */
+    private final PrintStream out;
+
+    /**
+     * Generator naključnih števil.
+     */
+    private Random random;
+
+    JvmRuntime(Map<Integer, String> strings, Optional<PrintStream> outputStream) {
+        requireNonNull(strings, outputStream);
+        this.strings = strings;
+        this.out = outputStream.orElse(null);
+    }
+
+    public int printInt(int value) {
+        if (out != null) out.println(value);
+        return 0;
+    }
+
+    public int printStr(int address) {
+        var res = strings.get(address);
+        if (out != null) out.println("\"" + res + "\"");
+        return 0;
+    }
+
+    public int printLog(int value) {
+        if (out != null) out.println(value != 0);
+        return 0;
+    }
+
+    public int randInt(int min, int max) {
+        return random.nextInt(min, max);
+    }
+
+    public int seed(int seed) {
+        random = new Random(seed);
+        return 0;
+    }
+
+    public static int and(int left, int right) {
+        return left != 0 && right != 0 ? 1 : 0;
+    }
+
+    public static int or(int left, int right) {
+        return left != 0 || right != 0 ? 1 : 0;
+    }
+}
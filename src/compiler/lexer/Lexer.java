@@ -6,448 +6,642 @@ package compiler.lexer;
 
 import static common.RequireNonNull.requireNonNull;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 import common.Report;
 
-public class Lexer {
+public final class Lexer implements TokenSource {
     /**
-     * Izvorna koda.
+     * Ključne besede (in logične konstante) ter njihove vrste simbolov.
      */
-    private final String source;
+    private final static List<char[]> keywords = new ArrayList<>();
+    private final static List<TokenType> keywordTypes = new ArrayList<>();
 
     /**
-     * Preslikava iz ključnih besed v vrste simbolov.
+     * Vrste ASCII znakov (indeks je koda znaka).
      */
-    private final static Map<String, TokenType> keywordMapping;
+    private final static CharClass[] charClasses = new CharClass[128];
+
+    /**
+     * Enoznakovni operatorji (indeks je koda znaka).
+     */
+    private final static TokenType[] operatorTypes = new TokenType[128];
+
+    /**
+     * Dvoznakovni operatorji, ki se končajo z '=' (indeks je koda prvega znaka).
+     */
+    private final static TokenType[] longOperatorTypes = new TokenType[128];
+
+    /**
+     * Leksemi vrst simbolov, ki imajo vedno enak leksem (indeks je `ordinal()`).
+     */
+    private final static String[] fixedLexemes = new String[TokenType.values().length];
 
     static {
-        keywordMapping = new HashMap<>();
         for (var token : TokenType.values()) {
             var str = token.toString();
             if (str.startsWith("KW_")) {
-                keywordMapping.put(str.substring("KW_".length()).toLowerCase(), token);
+                keyword(str.substring("KW_".length()).toLowerCase(), token);
             }
             if (str.startsWith("AT_")) {
-                keywordMapping.put(str.substring("AT_".length()).toLowerCase(), token);
+                keyword(str.substring("AT_".length()).toLowerCase(), token);
             }
         }
+        keyword("true", TokenType.C_LOGICAL);
+        keyword("false", TokenType.C_LOGICAL);
+        fixedLexemes[TokenType.EOF.ordinal()] = "$";
+
+        Arrays.fill(charClasses, CharClass.INVALID);
+        for (char c = '0'; c <= '9'; c++) charClasses[c] = CharClass.DIGIT;
+        for (char c = 'a'; c <= 'z'; c++) charClasses[c] = CharClass.LETTER;
+        for (char c = 'A'; c <= 'Z'; c++) charClasses[c] = CharClass.LETTER;
+        charClasses['_'] = CharClass.LETTER;
+        charClasses['\''] = CharClass.QUOTE;
+        charClasses[' '] = CharClass.WHITESPACE;
+        charClasses['\t'] = CharClass.WHITESPACE;
+        charClasses['\n'] = CharClass.WHITESPACE;
+        charClasses['\r'] = CharClass.WHITESPACE;
+
+        operator('+', TokenType.OP_ADD);
+        operator('-', TokenType.OP_SUB);
+        operator('*', TokenType.OP_MUL);
+        operator('/', TokenType.OP_DIV);
+        operator('%', TokenType.OP_MOD);
+        operator('&', TokenType.OP_AND);
+        operator('|', TokenType.OP_OR);
+        operator('!', TokenType.OP_NOT);
+        operator('<', TokenType.OP_LT);
+        operator('>', TokenType.OP_GT);
+        operator('(', TokenType.OP_LPARENT);
+        operator(')', TokenType.OP_RPARENT);
+        operator('[', TokenType.OP_LBRACKET);
+        operator(']', TokenType.OP_RBRACKET);
+        operator('{', TokenType.OP_LBRACE);
+        operator('}', TokenType.OP_RBRACE);
+        operator(':', TokenType.OP_COLON);
+        operator(';', TokenType.OP_SEMICOLON);
+        operator('.', TokenType.OP_DOT);
+        operator(',', TokenType.OP_COMMA);
+        operator('=', TokenType.OP_ASSIGN);
+
+        longOperator('=', TokenType.OP_EQ);
+        longOperator('!', TokenType.OP_NEQ);
+        longOperator('<', TokenType.OP_LEQ);
+        longOperator('>', TokenType.OP_GEQ);
     }
 
+    /**
+     * Leksem vrste simbola, ki ima vedno enak leksem, oz. `null`.
+     */
+    static String fixedLexeme(TokenType type) {
+        return fixedLexemes[type.ordinal()];
+    }
+
+    private static void keyword(String word, TokenType type) {
+        keywords.add(word.toCharArray());
+        keywordTypes.add(type);
+        if (type != TokenType.C_LOGICAL) {
+            fixedLexemes[type.ordinal()] = word;
+        }
+    }
+
+    private static void operator(char c, TokenType type) {
+        charClasses[c] = CharClass.OPERATOR;
+        operatorTypes[c] = type;
+        fixedLexemes[type.ordinal()] = String.valueOf(c);
+    }
+
+    private static void longOperator(char c, TokenType type) {
+        longOperatorTypes[c] = type;
+        fixedLexemes[type.ordinal()] = c + "=";
+    }
+
+    /**
+     * Oznaka konca vhoda.
+     */
+    private static final int END = -1;
+
+    /**
+     * Leksem konca datoteke.
+     */
+    private static final char[] EOF_LEXEME = { '$' };
+
+    /**
+     * Velikost medpomnilnika pri branju iz toka.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // --- vhod ---
+
+    /**
+     * Vir izvorne kode (tok znakov ali bajtov) oz. `null`, če je celotna
+     * izvorna koda že v medpomnilniku.
+     */
+    private final Reader reader;
+    private final ByteBuffer bytes;
+
+    /**
+     * Pri branju bajtov: prebrani bajti in indeks bajta, ki ustreza `buffer[0]`.
+     */
+    private final byte[] byteChunk;
+    private int bufferPosition;
+
+    /**
+     * Medpomnilnik z (delom) izvorne kode; veljavni znaki so na indeksih [0, limit).
+     */
+    private char[] buffer;
+    private int limit;
+
+    /**
+     * Indeks naslednjega neprebranega znaka.
+     */
+    private int offset;
+
+    /**
+     * Indeks začetka trenutnega simbola; znakov od tu naprej
+     * ob ponovnem polnjenju medpomnilnika ne zavržemo.
+     */
+    private int mark;
+
+    // --- stanje analize ---
+
+    /**
+     * Tabela imen; imena dodamo vanjo že ob branju.
+     */
+    private final NameTable names = new NameTable();
+
+    /**
+     * Vrstica in stolpec zadnjega prebranega znaka
+     * (v nizih nova vrstica ne poveča števca vrstic, tabulator
+     * med simboli pa zavzame štiri stolpce).
+     */
+    private int line = 1;
+    private int column = 0;
+
+    /**
+     * Dejanska vrstica in stolpec zadnjega prebranega znaka (vključno s
+     * komentarji); uporabljamo ju le za poročanje o neveljavnih (ne-ASCII) znakih.
+     */
+    private int rawLine = 1;
+    private int rawColumn = 0;
+
+    /**
+     * Vrstica začetka zadnjega simbola.
+     */
+    private int lastTokenLine = 0;
+
+    /**
+     * Število prebranih simbolov.
+     */
+    private int tokenCount = 0;
+
+    // --- trenutni simbol ---
+
+    private TokenType type;
+    private int startLine;
+    private int startColumn;
+    private int endLine;
+    private int endColumn;
+
+    /**
+     * Leksem trenutnega simbola so znaki [lexemeOffset, lexemeOffset + lexemeLength)
+     * v tabeli `lexemeChars` (medpomnilnik ali `literal`).
+     */
+    private char[] lexemeChars;
+    private int lexemeOffset;
+    private int lexemeLength;
+
+    /**
+     * Številka imena trenutnega simbola oz. <code>NameTable.NONE</code>.
+     */
+    private int nameId = NameTable.NONE;
+
+    /**
+     * Vsebina trenutne znakovne konstante.
+     */
+    private char[] literal = new char[64];
+
     /**
      * Ustvari nov analizator.
-     * 
+     *
      * @param source Izvorna koda programa.
      */
     public Lexer(String source) {
         requireNonNull(source);
-        this.source = source;
+        this.reader = null;
+        this.bytes = null;
+        this.byteChunk = null;
+        this.buffer = source.toCharArray();
+        this.limit = buffer.length;
+        next();
     }
 
     /**
-     * Izvedi leksikalno analizo.
-     * 
-     * @return seznam leksikalnih simbolov.
+     * Ustvari nov analizator, ki izvorno kodo bere sproti.
+     *
+     * @param reader Vir izvorne kode programa.
      */
-    public List<Symbol> scan() {
-        var symbols = new ArrayList<Symbol>();
-
+    public Lexer(Reader reader) {
+        requireNonNull(reader);
+        this.reader = reader;
+        this.bytes = null;
+        this.byteChunk = null;
+        this.buffer = new char[BUFFER_SIZE];
+        this.limit = 0;
+        next();
+    }
 
-        /*
-         * FAZA 1
-         * Predprocesiranje vhoda
-         * Znebitev komentarjev ter filtriranje neveljavnih znakov.
-         */
-        var source_stage1 = new StringBuilder(); // nova izvorna koda
-        var inComment = false; // v komentarju?
-        var lineCntr = 1; // štetje vrstice
-        var colCntr = 0; // šteje stolpca v vrstici
-        for (int i = 0; i < source.length(); i++) { // za vsak znak v izvorni kodi
-            final char currentChar = source.charAt(i); // znak na trenutnem mestu
-            colCntr++;
+    /**
+     * Ustvari nov analizator, ki izvorno kodo bere neposredno iz bajtov
+     * (npr. datoteke, preslikane v pomnilnik). Ker so veljavni le ASCII znaki,
+     * bajtov ne dekodiramo, le razširimo jih v znake.
+     *
+     * @param bytes Izvorna koda programa (od trenutnega položaja do meje).
+     */
+    public Lexer(ByteBuffer bytes) {
+        requireNonNull(bytes);
+        this.reader = null;
+        this.bytes = bytes;
+        this.byteChunk = new byte[BUFFER_SIZE];
+        this.bufferPosition = bytes.position();
+        this.buffer = new char[BUFFER_SIZE];
+        this.limit = 0;
+        next();
+    }
 
-            if (currentChar == (char) 35) // char == "#"
-            {
-                inComment = true;
-            }
-            else if (isNewline(currentChar)) {
-                inComment = false;
-                lineCntr++;
-                colCntr = 0;
+    /**
+     * Izvedi leksikalno analizo preostanka vhoda (od trenutnega simbola naprej).
+     *
+     * @return zaporedje leksikalnih simbolov.
+     */
+    public TokenStream scan() {
+        var tokens = new TokenStream(
+                bytes != null ? bytes.remaining() / 4 : reader != null ? BUFFER_SIZE / 4 : buffer.length / 4,
+                names
+        );
+        while (true) {
+            tokens.add(type, startLine, startColumn, endLine, endColumn, lexemeChars, lexemeOffset, lexemeLength, nameId);
+            if (type == TokenType.EOF) {
+                return tokens;
             }
+            next();
+        }
+    }
 
-            // FILTRIRANJE NEVELJAVNIH ZNAKOV
-            if ((int) currentChar > 127 && !inComment) {
-                Report.error(
-                        new Position(new Position.Location(lineCntr, colCntr), new Position.Location(lineCntr, colCntr)),
-                        "LEX: Character \"" + currentChar + "\" is not valid. Only ASCII characters are valid."
-                );
-            }
+    /**
+     * Število do sedaj prebranih simbolov (vključno s trenutnim).
+     */
+    public int tokenCount() {
+        return tokenCount;
+    }
 
-            if (!inComment) { // prepiši znak v novo izvorno kodo, če le ta ni v komentarju
-                source_stage1.append(currentChar);
-            }
-        }
+    /**
+     * Tabela imen, ki jih je analizator do sedaj prebral.
+     */
+    public NameTable names() {
+        return names;
+    }
 
+    @Override
+    public TokenType type() {
+        return type;
+    }
 
-        /*
-         * FAZA 2
-         * Tokenizacija (Žetonizacija)
-         * Procesiranje vhoda v zaporedje žetonov.
-         */
-        lineCntr = 1; // ponastavimo števec vrstic
-        colCntr = 0; // ponastavimo števec stolpcev
-        var wordLocBegin = new int[]{0, 0};
-
-        var word = new StringBuilder(); // trenuten leksem
-        var midWord = false; // sredi leksema?
-        String wordTokenClass = "NONE"; // C_INTEGER || C_STRING || OPERAND || OTHER || NONE
-
-        source_stage1.append(" ");
-        for (int i = 0; i < source_stage1.length(); i++) { // za vsak znak predprocesirane izvorne kode
-            final char currentChar = source_stage1.charAt(i); // trenuten znak v izvorni kodi
-            colCntr++;
-
-            if (!midWord) { // na začetku definiramo, kaj trenutna beseda sploh lahko je.
-                if (isNumber(currentChar)) {
-                    wordTokenClass = "C_INTEGER";
-                    word.append(currentChar);
-                } else if ((int) currentChar == 39) {
-                    wordTokenClass = "C_STRING";
-                } else if (isSpecial(currentChar)) {
-                    wordTokenClass = "OPERAND";
-                    word.append(currentChar);
-                } else if (isLetter(currentChar) || currentChar == '_') { // Tukaj padejo vsi ostali tipi (ker so vsi na nek način posebni)
-                    wordTokenClass = "OTHER";
-                    word.append(currentChar);
-                } else if (isWhitespace(currentChar)) {
-                    if (isNewline(currentChar)) {
-                        lineCntr++;
-                        colCntr = 0;
-                    } else if (isTabulator(currentChar)) {
-                        colCntr+=3;
-                    }
-                    continue;
-                } else {
-                    Report.error(
-                            new Position(new Position.Location(lineCntr, colCntr), new Position.Location(lineCntr, colCntr)),
-                            "LEX: Illegal start of token."
-                    );
-                }
-                midWord = true;
-                wordLocBegin = new int[]{lineCntr, colCntr};
-                continue;
-            }
+    @Override
+    public String lexeme() {
+        var fixed = fixedLexemes[type.ordinal()];
+        if (fixed != null) {
+            return fixed;
+        }
+        if (type == TokenType.C_LOGICAL) {
+            return lexemeLength == 4 ? "true" : "false";
+        }
+        if (nameId != NameTable.NONE) {
+            return names.name(nameId);
+        }
+        return new String(lexemeChars, lexemeOffset, lexemeLength);
+    }
 
-            switch (wordTokenClass) {
-                /*
-                 * SESTAVLJANJE STRING KONSTANTE
-                 */
-                case "C_STRING":
-                    if (currentChar == '\'') {
-                        if (source_stage1.charAt(i + 1) == '\'') {
-                            word.append("'");
-                            i++;
-                            colCntr++;
-                            continue;
-                        }
-                        symbols.add(
-                                new Symbol(
-                                        new Position.Location(wordLocBegin[0], wordLocBegin[1]),
-                                        new Position.Location(lineCntr, colCntr),
-                                        TokenType.C_STRING,
-                                        word.toString()
-                                )
-                        );
-                        midWord = false;
-                        wordTokenClass = "NONE";
-                        word.setLength(0);
-                    } else
-                        word.append(currentChar);
-                    break;
+    @Override
+    public int nameId() {
+        return nameId;
+    }
 
-                /*
-                 * SESTAVLJANJE INTEGER KONSTANTE
-                 */
-                case "C_INTEGER":
-                    if (!isNumber(currentChar)) {
-                        symbols.add(
-                                new Symbol(
-                                        new Position.Location(wordLocBegin[0], wordLocBegin[1]),
-                                        new Position.Location(lineCntr, colCntr - 1),
-                                        TokenType.C_INTEGER,
-                                        word.toString()
-                                )
-                        );
-                        midWord = false;
-                        wordTokenClass = "NONE";
-                        i--;
-                        colCntr--;
-                        word.setLength(0);
-                    } else
-                        word.append(currentChar);
-                    break;
+    @Override
+    public Position.Location start() {
+        return new Position.Location(startLine, startColumn);
+    }
 
+    @Override
+    public Position.Location end() {
+        return new Position.Location(endLine, endColumn);
+    }
+
+    /**
+     * Prebere naslednji simbol. Vhod beremo v enem prehodu: komentarje
+     * preskočimo ob branju, vrsto simbola pa določi njegov prvi znak.
+     * Ko doseže konec datoteke, ostane na simbolu <code>EOF</code>.
+     */
+    @Override
+    public void next() {
+        if (type == TokenType.EOF) {
+            return;
+        }
+        tokenCount++;
+        nameId = NameTable.NONE;
+
+        int c;
+        CharClass charClass;
+        while (true) {
+            mark = offset;
+            c = peek();
+            if (c == END) {
                 /*
-                 * SESTAVLJANJE OPERANDA
+                 * Testi predpostavljajo, da se vsi simboli končajo en znak kasneje kot se dejansko
+                 * (glej spodaj); enako velja za konec datoteke.
                  */
-                case "OPERAND":
-                    boolean isLong; // dvo-mesten operand?
-
-                    switch ("" + word + currentChar) {
-                        case "==" -> {
-                            symbols.add(
-                                    new Symbol(
-                                            new Position.Location(wordLocBegin[0], wordLocBegin[1]),
-                                            new Position.Location(lineCntr, colCntr),
-                                            TokenType.OP_EQ,
-                                            "" + word + currentChar
-                                    )
-                            );
-                            isLong = true;
-                        }
-                        case "!=" -> {
-                            symbols.add(
-                                    new Symbol(
-                                            new Position.Location(wordLocBegin[0], wordLocBegin[1]),
-                                            new Position.Location(lineCntr, colCntr),
-                                            TokenType.OP_NEQ,
-                                            "" + word + currentChar
-                                    )
-                            );
-                            isLong = true;
-                        }
-                        case "<=" -> {
-                            symbols.add(
-                                    new Symbol(
-                                            new Position.Location(wordLocBegin[0], wordLocBegin[1]),
-                                            new Position.Location(lineCntr, colCntr),
-                                            TokenType.OP_LEQ,
-                                            "" + word + currentChar
-                                    )
-                            );
-                            isLong = true;
-                        }
-                        case ">=" -> {
-                            symbols.add(
-                                    new Symbol(
-                                            new Position.Location(wordLocBegin[0], wordLocBegin[1]),
-                                            new Position.Location(lineCntr, colCntr),
-                                            TokenType.OP_GEQ,
-                                            "" + word + currentChar
-                                    )
-                            );
-                            isLong = true;
-                        }
-                        default -> isLong = false;
-                    }
+                type = TokenType.EOF;
+                startLine = lastTokenLine;
+                startColumn = column;
+                endLine = line;
+                endColumn = column + 1;
+                lexemeChars = EOF_LEXEME;
+                lexemeOffset = 0;
+                lexemeLength = EOF_LEXEME.length;
+                return;
+            }
+            charClass = c < 128 ? charClasses[c] : CharClass.INVALID;
+            if (charClass != CharClass.WHITESPACE) {
+                break;
+            }
+            advance();
+            if (c == '\n') {
+                line++;
+                column = 0;
+            } else if (c == '\t') {
+                column += 3;
+            }
+        }
 
-                    // PRESLIKAVA OPERANDA V TokenType
-                    if (!isLong) { // če je dvo-mesten operand, je že bil dodan med simbole, zato preskočimo preslikavo
-                        symbols.add(
-                                new Symbol(
-                                        new Position.Location(wordLocBegin[0], wordLocBegin[1]),
-                                        new Position.Location(lineCntr, colCntr - 1),
-                                        mapTokenType(word.toString().charAt(0)),
-                                        word.toString()
-                                )
-                        );
-                        i--;
-                        colCntr--;
-                    }
+        mark = offset;
+        advance();
+        startLine = line;
+        startColumn = column;
+        lastTokenLine = line;
+
+        switch (charClass) {
+            /*
+             * INTEGER KONSTANTA
+             */
+            case DIGIT -> {
+                while (isNumber(peek())) {
+                    advance();
+                }
+                type = TokenType.C_INTEGER;
+            }
 
-                    midWord = false;
-                    wordTokenClass = "NONE";
-                    word.setLength(0);
-                    break;
+            /*
+             * IME, KLJUČNA BESEDA ALI LOGIČNA KONSTANTA
+             */
+            case LETTER -> {
+                while (isIdentifierName(peek())) {
+                    advance();
+                }
+                var length = column - startColumn + 1;
+                type = keyword(mark, length);
+                if (type == TokenType.IDENTIFIER) {
+                    nameId = names.intern(buffer, mark, length);
+                }
+            }
 
-                /*
-                 * SESTAVLJANJE OSTALEGA
-                 */
-                case "OTHER":
-                    if (!isIdentifierName(currentChar)) {
-                        if (word.toString().equals("true") || word.toString().equals("false")) {
-                            symbols.add(
-                                    new Symbol(
-                                            new Position.Location(wordLocBegin[0], wordLocBegin[1]),
-                                            new Position.Location(lineCntr, colCntr - 1),
-                                            TokenType.C_LOGICAL,
-                                            word.toString()
-                                    )
-                            );
-                        } else {
-                            symbols.add(
-                                    new Symbol(
-                                            new Position.Location(wordLocBegin[0], wordLocBegin[1]),
-                                            new Position.Location(lineCntr, colCntr - 1),
-                                            keywordMapping.get(word.toString()) != null ? keywordMapping.get(word.toString()) : TokenType.IDENTIFIER,
-                                            word.toString()
-                                    )
-                            );
+            /*
+             * STRING KONSTANTA
+             */
+            case QUOTE -> {
+                var length = 0;
+                while (true) {
+                    mark = offset;
+                    var next = peek();
+                    if (next == END) {
+                        Report.error("LEX: Illegal end of file.");
+                    }
+                    advance();
+                    if (next == '\'') {
+                        if (peek() != '\'') {
+                            break;
                         }
-                        midWord = false;
-                        wordTokenClass = "NONE";
-                        word.setLength(0);
-                        i--;
-                        colCntr--;
-                        continue;
+                        advance();
                     }
-                    word.append(currentChar);
-                    break;
+                    if (length == literal.length) {
+                        literal = Arrays.copyOf(literal, length * 2);
+                    }
+                    literal[length++] = (char) next;
+                }
+                type = TokenType.C_STRING;
+                lexemeChars = literal;
+                lexemeOffset = 0;
+                lexemeLength = length;
             }
 
+            /*
+             * OPERATOR
+             */
+            case OPERATOR -> {
+                if (longOperatorTypes[c] != null && peek() == '=') {
+                    advance();
+                    type = longOperatorTypes[c];
+                } else {
+                    type = operatorTypes[c];
+                }
+            }
+
+            default -> {
+                var position = new Position(line, column, line, column);
+                checkAscii();
+                Report.error(
+                        position,
+                        "LEX: Illegal start of token."
+                );
+            }
         }
 
-        if (!wordTokenClass.equals("NONE")) {
-            Report.error("LEX: Illegal end of file.");
+        if (type != TokenType.C_STRING) {
+            lexemeChars = buffer;
+            lexemeOffset = mark;
+            lexemeLength = column - startColumn + 1;
         }
+        // Testi predpostavljajo, da se vsi simboli končajo en znak kasneje kot se dejansko.
+        endLine = line;
+        endColumn = column + 1;
+    }
 
-        symbols.add(
-                new Symbol(
-                        new Position.Location(wordLocBegin[0], colCntr - 1),
-                        new Position.Location(lineCntr, colCntr - 1),
-                        TokenType.EOF,
-                        "$"
-                )
-        );
+    // ----------- branje vhoda -----------
 
-        /*
-         * QUICK FIX za teste LEXER-ja
-         * Testi predpostavljajo, da se vsi simboli končajo en znak kasneje kot se dejansko.
-         * Tukaj je "quick fix", da lexer na pade testov.
-         * Načeloma čisto nepotreben in je lahko brez komplikacij odstranjen.
-         * (Treba je biti morebitno edino previden v naslednjih fazah prevajalnika, če so kakršne
-         * odvisnosti - vendar ne bi smele biti ...saj, je le pozicija, nikogar kot programerja ne
-         * bi *smela* zanimati.)
-         */
-        symbols.replaceAll(symbol -> new Symbol(
-                new Position.Location(
-                        symbol.position.start.line,
-                        symbol.position.start.column
-                ),
-                new Position.Location(
-                        symbol.position.end.line,
-                        symbol.position.end.column + 1
-                ),
-                symbol.tokenType,
-                symbol.lexeme
-        ));
-
-        return symbols;
+    /**
+     * Vrne naslednji znak, ne da bi ga prebral; komentarje (od '#' do
+     * konca vrstice, tudi znotraj nizov) pri tem preskoči.
+     */
+    private int peek() {
+        if (offset == limit && !fill()) {
+            return END;
+        }
+        if (buffer[offset] == '#') {
+            do {
+                offset++;
+                rawColumn++;
+            } while ((offset < limit || fill()) && buffer[offset] != '\n');
+        }
+        return offset < limit ? buffer[offset] : END;
     }
 
     /**
-     * Dobi znak, ki predstavlja nek operand in vrne ustrezen <code>TokenType</code>.
-     * @param givenChar Podan znak. Npr.: '+'
-     * @return <code>TokenType</code> tip.
-     */
-    private TokenType mapTokenType(char givenChar) {
-        return switch (givenChar) {
-            case '+' -> TokenType.OP_ADD;
-            case '-' -> TokenType.OP_SUB;
-            case '*' -> TokenType.OP_MUL;
-            case '/' -> TokenType.OP_DIV;
-            case '%' -> TokenType.OP_MOD;
-            case '&' -> TokenType.OP_AND;
-            case '|' -> TokenType.OP_OR;
-            case '!' -> TokenType.OP_NOT;
-            case '<' -> TokenType.OP_LT;
-            case '>' -> TokenType.OP_GT;
-            case '(' -> TokenType.OP_LPARENT;
-            case ')' -> TokenType.OP_RPARENT;
-            case '[' -> TokenType.OP_LBRACKET;
-            case ']' -> TokenType.OP_RBRACKET;
-            case '{' -> TokenType.OP_LBRACE;
-            case '}' -> TokenType.OP_RBRACE;
-            case ':' -> TokenType.OP_COLON;
-            case ';' -> TokenType.OP_SEMICOLON;
-            case '.' -> TokenType.OP_DOT;
-            case ',' -> TokenType.OP_COMMA;
-            case '=' -> TokenType.OP_ASSIGN;
-            default -> null;
-        };
+     * Prebere znak, ki ga je vrnil <code>peek</code>.
+     */
+    private void advance() {
+        var c = buffer[offset++];
+        column++;
+        rawColumn++;
+        if (c > 127) {
+            invalidCharacter(c);
+        }
+        if (c == '\n') {
+            rawLine++;
+            rawColumn = 0;
+        }
     }
 
     /**
-     * Dobi znak in vrne <code>true</code>, če je znak od a-z ali A-Z in <code>false</code>, če ni.
-     * @param givenChar Podan znak.
-     * @return <code>boolean</code>
+     * Prebere nov del vhoda v medpomnilnik; znake pred `mark` zavrže.
+     *
+     * @return <code>false</code>, če je vhoda konec.
      */
-
-    @SuppressWarnings("All")
-    private boolean isLetter(char givenChar) {
-        if ((int)givenChar >= 65 && (int)givenChar <= 90) // A to Z
+    private boolean fill() {
+        if (reader == null && bytes == null) {
+            return false;
+        }
+        if (mark > 0) {
+            System.arraycopy(buffer, mark, buffer, 0, limit - mark);
+            limit -= mark;
+            offset -= mark;
+            bufferPosition += mark;
+            mark = 0;
+        }
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        if (bytes != null) {
+            var read = Math.min(Math.min(bytes.remaining(), byteChunk.length), buffer.length - limit);
+            if (read == 0) {
+                return false;
+            }
+            bytes.get(byteChunk, 0, read);
+            for (int i = 0; i < read; i++) {
+                buffer[limit + i] = (char) (byteChunk[i] & 0xFF);
+            }
+            limit += read;
             return true;
-
-        if ((int)givenChar >= 97 && (int)givenChar <= 122) // a to z
+        }
+        try {
+            var read = reader.read(buffer, limit, buffer.length - limit);
+            if (read <= 0) {
+                return false;
+            }
+            limit += read;
             return true;
-
-        return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
+    // ----------- pomožne funkcije -----------
+
     /**
-     * Dobi znak in vrne <code>true</code>, če je znak presledek, nova vrstica ali tabulator in <code>false</code>, če ni.
-     * @param givenChar Podan znak.
-     * @return <code>boolean</code>
+     * Vrne vrsto ključne besede na podanem mestu v medpomnilniku
+     * oz. <code>IDENTIFIER</code>, če beseda ni ključna.
      */
-    private boolean isWhitespace(char givenChar) {
-        return switch ((int) givenChar) {
-            case 32, 9, 10, 13 -> true;
-            default -> false;
-        };
+    private TokenType keyword(int start, int length) {
+        for (int i = 0; i < keywords.size(); i++) {
+            var word = keywords.get(i);
+            if (word.length == length && Arrays.equals(word, 0, length, buffer, start, start + length)) {
+                return keywordTypes.get(i);
+            }
+        }
+        return TokenType.IDENTIFIER;
     }
 
     /**
-     * Dobi znak in vrne <code>true</code>, če je znak cifra in <code>false</code>, če ni.
-     * @param givenChar Podan znak.
-     * @return <code>boolean</code>
+     * Preveri, da v preostanku vhoda (izven komentarjev) ni ne-ASCII znakov;
+     * o teh poročamo pred vsemi ostalimi napakami.
      */
-    private boolean isNumber(char givenChar) {
-        return (int) givenChar >= 48 && (int) givenChar <= 57;
+    private void checkAscii() {
+        while (peek() != END) {
+            mark = offset;
+            advance();
+        }
+    }
+
+    private void invalidCharacter(char c) {
+        if (bytes != null) {
+            c = utf8Character(bufferPosition + offset - 1);
+        }
+        Report.error(
+                new Position(rawLine, rawColumn, rawLine, rawColumn),
+                "LEX: Character \"" + c + "\" is not valid. Only ASCII characters are valid."
+        );
     }
 
     /**
-     * Dobi znak in vrne <code>true</code>, če je znak eden izmed: + - * / % & | ! == != < > <= >= ( ) [ ] { } : ; . , = in <code>false</code>, če ni.
-     * @param givenChar Podan znak.
-     * @return <code>boolean</code>
+     * Dekodira znak UTF-8, ki se začne na indeksu <code>index</code> vhodnih bajtov
+     * (le za sporočilo o neveljavnem znaku).
      */
-    private boolean isSpecial(char givenChar) {
-        return switch ((int) givenChar) {
-            case 43, 45, 42, 47, 37, 38, 124, 33, 61, 60, 62, 40, 41,
-                    91, 93, 123, 125, 58, 59, 46, 44 -> true; // + - * / % & | ! == != < > <= >= ( ) [ ] { } : ; . , =
-            default -> false;
-        };
+    private char utf8Character(int index) {
+        var sequence = bytes.duplicate().position(index).limit(Math.min(index + 4, bytes.limit()));
+        var chars = CharBuffer.allocate(4);
+        StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                .decode(sequence, chars, true);
+        chars.flip();
+        return chars.hasRemaining() ? chars.get() : '\uFFFD';
     }
 
     /**
-     * Dobi znak in vrne <code>true</code>, če je znak za novo vrstico in <code>false</code>, če ni.
-     * Za novo vrstico se šteje le '\n' oz. LF (line-feed), '\r' oz. CR (carriage-return) pa se ne.
+     * Dobi znak in vrne <code>true</code>, če je znak cifra in <code>false</code>, če ni.
      * @param givenChar Podan znak.
      * @return <code>boolean</code>
      */
-    private boolean isNewline(char givenChar) {
-        return (int) givenChar == 10;
+    private boolean isNumber(int givenChar) {
+        return givenChar >= '0' && givenChar <= '9';
     }
 
     /**
-     * Dobi znak in vrne <code>true</code>, če je znak tabulator in <code>false</code>, če ni.
+     * Dobi znak in vrne <code>true</code>, če je znak ali a-z ali A-Z ali 0-9 ali _ in <code>false</code>, če ni.
      * @param givenChar Podan znak.
      * @return <code>boolean</code>
      */
-    private boolean isTabulator(char givenChar) {
-        return (int) givenChar == 9;
+    private boolean isIdentifierName(int givenChar) {
+        return givenChar >= 0 && givenChar < 128
+            && (charClasses[givenChar] == CharClass.LETTER || charClasses[givenChar] == CharClass.DIGIT);
     }
 
     /**
-     * Dobi znak in vrne <code>true</code>, če je znak ali a-z ali A-Z ali _ in <code>false</code>, če ni.
-     * @param givenChar Podan znak.
-     * @return <code>boolean</code>
+     * Vrsta znaka, ki določa, kateri simbol se z njim začne.
      */
-    private boolean isIdentifierName(char givenChar) {
-        return isNumber(givenChar) || isLetter(givenChar) || givenChar == '_';
+    private enum CharClass {
+        DIGIT,
+        LETTER,
+        QUOTE,
+        OPERATOR,
+        WHITESPACE,
+        INVALID
     }
 }
-
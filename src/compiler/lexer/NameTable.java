@@ -0,0 +1,125 @@
+/**
+ * @Description: Tabela imen, ki vsakemu različnemu imenu dodeli zaporedno številko.
+ */
+
+package compiler.lexer;
+
+import static common.RequireNonNull.requireNonNull;
+
+import java.util.Arrays;
+
+import stdlib.StandardFunctions;
+
+public final class NameTable {
+    /**
+     * Indeks, ki ne pripada nobenemu imenu (npr. simbolom, ki niso imena).
+     */
+    public static final int NONE = -1;
+
+    /**
+     * Imena; indeks imena je njegova številka.
+     */
+    private String[] names = new String[64];
+    private char[][] chars = new char[64][];
+    private int[] hashes = new int[64];
+    private int size = 0;
+
+    /**
+     * Zgoščena tabela z odprtim naslavljanjem; hrani številko imena + 1
+     * (0 pomeni prazno mesto).
+     */
+    private int[] slots = new int[128];
+
+    /**
+     * Ustvari novo tabelo; imena funkcij standardne knjižnice dobijo
+     * prve številke (glej <code>StandardFunctions.exists</code>), in sicer
+     * v vrstnem redu <code>StandardFunctions.names()</code>.
+     */
+    public NameTable() {
+        var names = StandardFunctions.names();
+        for (int i = 0; i < names.size(); i++) {
+            if (intern(names.get(i)) != i) {
+                throw new IllegalStateException("Standard function " + names.get(i) + " is not interned as " + i + "!");
+            }
+        }
+    }
+
+    /**
+     * Vrne številko imena, ki ga sestavljajo znaki [offset, offset + length)
+     * tabele <code>source</code>; če ime še ne obstaja, ga doda.
+     */
+    public int intern(char[] source, int offset, int length) {
+        var hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + source[i];
+        }
+        var mask = slots.length - 1;
+        for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+            var id = slots[slot] - 1;
+            if (id == NONE) {
+                id = add(Arrays.copyOfRange(source, offset, offset + length), hash);
+                slots[slot] = id + 1;
+                if (size * 2 > slots.length) {
+                    rehash();
+                }
+                return id;
+            }
+            if (hashes[id] == hash && Arrays.equals(chars[id], 0, chars[id].length, source, offset, offset + length)) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Vrne številko imena; če ime še ne obstaja, ga doda.
+     */
+    public int intern(String name) {
+        requireNonNull(name);
+        var source = name.toCharArray();
+        return intern(source, 0, source.length);
+    }
+
+    /**
+     * Ime s podano številko.
+     */
+    public String name(int id) {
+        return names[id];
+    }
+
+    /**
+     * Število različnih imen.
+     */
+    public int size() {
+        return size;
+    }
+
+    // ----------- pomožne funkcije -----------
+
+    private int add(char[] name, int hash) {
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+            chars = Arrays.copyOf(chars, size * 2);
+            hashes = Arrays.copyOf(hashes, size * 2);
+        }
+        names[size] = new String(name);
+        chars[size] = name;
+        hashes[size] = hash;
+        return size++;
+    }
+
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        var mask = slots.length - 1;
+        for (int id = 0; id < size; id++) {
+            var slot = mix(hashes[id]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id + 1;
+        }
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * @Description: Vir leksikalnih simbolov, ki jih beremo enega za drugim.
+ */
+
+package compiler.lexer;
+
+public interface TokenSource {
+    /**
+     * Vrsta trenutnega simbola.
+     */
+    TokenType type();
+
+    /**
+     * Leksem trenutnega simbola.
+     */
+    String lexeme();
+
+    /**
+     * Številka imena trenutnega simbola v tabeli imen
+     * oz. <code>NameTable.NONE</code>, če simbol ni ime.
+     */
+    int nameId();
+
+    /**
+     * Začetna lokacija trenutnega simbola.
+     */
+    Position.Location start();
+
+    /**
+     * Končna lokacija trenutnega simbola.
+     */
+    Position.Location end();
+
+    /**
+     * Premakne se na naslednji simbol; na simbolu <code>EOF</code> ostane.
+     */
+    void next();
+
+    /**
+     * Območje trenutnega simbola.
+     */
+    default Position position() {
+        return new Position(start(), end());
+    }
+
+    /**
+     * Ustvari trenutni leksikalni simbol (npr. za izpis ali poročanje o napakah).
+     */
+    default Symbol symbol() {
+        return new Symbol(position(), type(), lexeme());
+    }
+}
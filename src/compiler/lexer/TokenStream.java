@@ -0,0 +1,226 @@
+/**
+ * @Description: Zaporedje leksikalnih simbolov, shranjeno v vzporednih tabelah.
+ */
+
+package compiler.lexer;
+
+import static common.RequireNonNull.requireNonNull;
+
+import java.util.Arrays;
+
+public class TokenStream {
+    /**
+     * Vse vrste simbolov (indeks je `ordinal()`).
+     */
+    private static final TokenType[] tokenTypes = TokenType.values();
+
+    /**
+     * Vrsta simbola.
+     */
+    private byte[] types;
+
+    /**
+     * Začetna in končna lokacija simbola; vrstica je v zgornjih,
+     * stolpec pa v spodnjih 32 bitih.
+     */
+    private long[] starts;
+    private long[] ends;
+
+    /**
+     * Začetek in dolžina leksema v tabeli `lexemes`.
+     */
+    private int[] lexemeOffsets;
+    private int[] lexemeLengths;
+
+    /**
+     * Številka imena simbola oz. <code>NameTable.NONE</code>; leksemov imen
+     * ne kopiramo, ampak jih vzamemo iz tabele imen.
+     */
+    private int[] nameIds;
+    private final NameTable names;
+
+    /**
+     * Znaki vseh leksemov, zapisani zaporedno.
+     */
+    private char[] lexemes;
+    private int lexemesLength;
+
+    /**
+     * Število simbolov.
+     */
+    private int size;
+
+    /**
+     * Ustvari novo (prazno) zaporedje simbolov.
+     *
+     * @param capacity Pričakovano število simbolov.
+     * @param names Tabela imen, v katero kažejo številke imen.
+     */
+    public TokenStream(int capacity, NameTable names) {
+        requireNonNull(names);
+        this.names = names;
+        capacity = Math.max(capacity, 16);
+        this.types = new byte[capacity];
+        this.starts = new long[capacity];
+        this.ends = new long[capacity];
+        this.lexemeOffsets = new int[capacity];
+        this.lexemeLengths = new int[capacity];
+        this.nameIds = new int[capacity];
+        this.lexemes = new char[capacity * 2];
+    }
+
+    /**
+     * Doda simbol; leksem so znaki [lexemeOffset, lexemeOffset + lexemeLength) v tabeli <code>chars</code>
+     * oz. ime s številko <code>nameId</code>. Leksemov imen, ključnih besed in operatorjev ne kopiramo.
+     */
+    public void add(TokenType type, int startLine, int startColumn, int endLine, int endColumn,
+                    char[] chars, int lexemeOffset, int lexemeLength, int nameId) {
+        if (size == types.length) {
+            grow();
+        }
+        types[size] = (byte) type.ordinal();
+        starts[size] = pack(startLine, startColumn);
+        ends[size] = pack(endLine, endColumn);
+        nameIds[size] = nameId;
+        if (nameId != NameTable.NONE || Lexer.fixedLexeme(type) != null) {
+            size++;
+            return;
+        }
+        if (lexemesLength + lexemeLength > lexemes.length) {
+            lexemes = Arrays.copyOf(lexemes, Math.max(lexemes.length * 2, lexemesLength + lexemeLength));
+        }
+        System.arraycopy(chars, lexemeOffset, lexemes, lexemesLength, lexemeLength);
+        lexemeOffsets[size] = lexemesLength;
+        lexemeLengths[size] = lexemeLength;
+        lexemesLength += lexemeLength;
+        size++;
+    }
+
+    /**
+     * Število simbolov.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Vrsta simbola na indeksu `index`.
+     */
+    public TokenType type(int index) {
+        return tokenTypes[types[index]];
+    }
+
+    /**
+     * Leksem simbola na indeksu `index`; nov niz ustvari le za konstante
+     * (imena vzame iz tabele imen, ključne besede in operatorje pa iz <code>Lexer</code>).
+     */
+    public String lexeme(int index) {
+        var type = type(index);
+        var fixed = Lexer.fixedLexeme(type);
+        if (fixed != null) {
+            return fixed;
+        }
+        if (type == TokenType.C_LOGICAL) {
+            return lexemeLengths[index] == 4 ? "true" : "false";
+        }
+        if (nameIds[index] != NameTable.NONE) {
+            return names.name(nameIds[index]);
+        }
+        return new String(lexemes, lexemeOffsets[index], lexemeLengths[index]);
+    }
+
+    /**
+     * Številka imena simbola na indeksu `index` oz. <code>NameTable.NONE</code>.
+     */
+    public int nameId(int index) {
+        return nameIds[index];
+    }
+
+    public Position.Location start(int index) {
+        return unpack(starts[index]);
+    }
+
+    public Position.Location end(int index) {
+        return unpack(ends[index]);
+    }
+
+    /**
+     * Območje simbola na indeksu `index`.
+     */
+    public Position position(int index) {
+        return new Position(start(index), end(index));
+    }
+
+    /**
+     * Ustvari leksikalni simbol (npr. za izpis ali poročanje o napakah).
+     */
+    public Symbol symbol(int index) {
+        return new Symbol(position(index), type(index), lexeme(index));
+    }
+
+    /**
+     * Ustvari nov bralnik, ki se začne na prvem simbolu zaporedja.
+     */
+    public TokenSource cursor() {
+        return new Cursor();
+    }
+
+    // ----------- pomožne funkcije -----------
+
+    private void grow() {
+        var capacity = types.length * 2;
+        types = Arrays.copyOf(types, capacity);
+        starts = Arrays.copyOf(starts, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+        lexemeOffsets = Arrays.copyOf(lexemeOffsets, capacity);
+        lexemeLengths = Arrays.copyOf(lexemeLengths, capacity);
+        nameIds = Arrays.copyOf(nameIds, capacity);
+    }
+
+    private static long pack(int line, int column) {
+        return ((long) line << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    private static Position.Location unpack(long location) {
+        return new Position.Location((int) (location >> 32), (int) location);
+    }
+
+    /**
+     * Branje zaporedja od začetka do simbola <code>EOF</code>.
+     */
+    private class Cursor implements TokenSource {
+        private int index = 0;
+
+        @Override
+        public TokenType type() {
+            return TokenStream.this.type(index);
+        }
+
+        @Override
+        public String lexeme() {
+            return TokenStream.this.lexeme(index);
+        }
+
+        @Override
+        public int nameId() {
+            return TokenStream.this.nameId(index);
+        }
+
+        @Override
+        public Position.Location start() {
+            return TokenStream.this.start(index);
+        }
+
+        @Override
+        public Position.Location end() {
+            return TokenStream.this.end(index);
+        }
+
+        @Override
+        public void next() {
+            if (index < size - 1) {
+                index++;
+            }
+        }
+    }
+}
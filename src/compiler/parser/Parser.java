@@ -14,7 +14,7 @@ import java.util.Optional;
 
 import common.Report;
 import compiler.lexer.Position;
-import compiler.lexer.Symbol;
+import compiler.lexer.TokenSource;
 import compiler.lexer.TokenType;
 import compiler.parser.ast.Ast;
 import compiler.parser.ast.def.*;
@@ -23,12 +23,9 @@ import compiler.parser.ast.type.*;
 
 public class Parser {
     /**
-     * Seznam leksikalnih simbolov.
+     * Zaporedje leksikalnih simbolov.
      */
-    private final List<Symbol> symbols;
-
-    private Symbol currentSymbol; // trenutni simbol
-    private int currentSymbolIndex;              // indeks lokacije
+    private final TokenSource tokens;
 
     /**
      * Ciljni tok, kamor izpisujemo produkcije. Če produkcij ne želimo izpisovati,
@@ -37,18 +34,21 @@ public class Parser {
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
     private final Optional<PrintStream> productionsOutputStream;
 
+    /**
+     * Število vozlišč razčlenjenega programa (številke vozlišč so 0 .. nodeCount - 1);
+     * naslednja prosta številka, ki jo dobi novo vozlišče (glej <code>Ast.id</code>).
+     */
+    private int nodeCount = 0;
+
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
-    public Parser(List<Symbol> symbols, Optional<PrintStream> productionsOutputStream) {
-        requireNonNull(symbols, productionsOutputStream);
-        this.symbols = symbols;
+    public Parser(TokenSource tokens, Optional<PrintStream> productionsOutputStream) {
+        requireNonNull(tokens, productionsOutputStream);
+        this.tokens = tokens;
         this.productionsOutputStream = productionsOutputStream;
-
-        this.currentSymbol = symbols.get(0); // Pridobimo prvi simbol v izvorni kodi
-        this.currentSymbolIndex = 0;
     }
 
     private boolean check(TokenType tokenType) {
-        if (currentSymbol.tokenType == tokenType) {
+        if (tokens.type() == tokenType) {
             skip();
             return true;
         }
@@ -56,27 +56,39 @@ public class Parser {
     }
 
     private void skip() {
-        currentSymbol = symbols.get(++currentSymbolIndex);
+        tokens.next();
     }
 
     private void easyReport(String expected) {
-        Report.error(currentSymbol.position, "SYN: Expected " + expected + ", got " + currentSymbol.tokenType +
-                ":'" + currentSymbol.lexeme + "'.");
+        var position = tokens.position();
+        var message = "SYN: Expected " + expected + ", got " + tokens.type() + ":'" + tokens.lexeme() + "'.";
+        // Leksikalne napake v preostanku vhoda imajo prednost (kot da bi simbole prebrali vnaprej)
+        while (tokens.type() != TokenType.EOF) {
+            tokens.next();
+        }
+        Report.error(position, message);
     }
 
     /**
      * Izvedi sintaksno analizo.
      */
     public Ast parse() {
+        nodeCount = 0;
         return parseSource();
     }
 
+    /**
+     * @return število vozlišč razčlenjenega programa
+     */
+    public int nodeCount() {
+        return nodeCount;
+    }
+
     private Ast parseSource() {
         dump("source -> definitions");
         var defs = parseDefinitions();
 
-        currentSymbolIndex--;
-        if (!check(TokenType.EOF)) {
+        if (tokens.type() != TokenType.EOF) {
             easyReport("EOF");
         }
         return defs;
@@ -84,15 +96,16 @@ public class Parser {
 
     private Defs parseDefinitions() {
         dump("definitions -> definition definitions2");
-        var pos = currentSymbol.position;
+        var start = tokens.start();
         List<Def> defs = new ArrayList<>();
         defs.add(parseDefinition());
         defs = parseDefinitions2(defs);
         return new Defs(
                 new Position(
-                        pos.start,
+                        start,
                         defs.get(defs.size()-1).position.end
                 ),
+                nodeCount++,
                 defs
         );
     }
@@ -109,16 +122,16 @@ public class Parser {
     }
 
     private Def parseDefinition() {
-        var symbol = currentSymbol;
+        var position = tokens.position();
         if (check(TokenType.KW_TYP)) {
             dump("definition -> type_definition");
-            return parseTypeDefinition(symbol.position);
+            return parseTypeDefinition(position);
         } else if (check(TokenType.KW_FUN)) {
             dump("definition -> function_definition");
-            return parseFunctionDefinition(symbol.position);
+            return parseFunctionDefinition(position);
         } else if (check(TokenType.KW_VAR)) {
             dump("definition -> variable_definition");
-            return parseVariableDefinition(symbol.position);
+            return parseVariableDefinition(position);
         } else {
             easyReport("'typ' or 'fun' or 'var'");
         }
@@ -128,7 +141,8 @@ public class Parser {
     @SuppressWarnings("ConstantConditions")
     private TypeDef parseTypeDefinition(Position pos) {
         dump("type_definition -> typ identifier : type");
-        var symbol = currentSymbol;
+        var name = tokens.lexeme();
+        var nameId = tokens.nameId();
         if (check(TokenType.IDENTIFIER)) {
             if (check(TokenType.OP_COLON)) {
                 var type = parseType();
@@ -137,7 +151,9 @@ public class Parser {
                                 pos.start,
                                 type.position.end
                         ),
-                        symbol.lexeme,
+                        nodeCount++,
+                        name,
+                        nameId,
                         type
                 );
             } else {
@@ -151,35 +167,41 @@ public class Parser {
 
     @SuppressWarnings("ConstantConditions")
     private Type parseType() {
-        var symbol = currentSymbol;
-        if (check(TokenType.IDENTIFIER)) {
+        var position = tokens.position();
+        if (tokens.type() == TokenType.IDENTIFIER) {
+            var lexeme = tokens.lexeme();
+            var nameId = tokens.nameId();
+            skip();
             dump("type -> identifier");
             return new TypeName(
-                    symbol.position,
-                    symbol.lexeme
+                    position,
+                    nodeCount++,
+                    lexeme,
+                    nameId
             );
         } else if (check(TokenType.AT_LOGICAL)) {
             dump("type -> logical");
-            return Atom.LOG(symbol.position);
+            return Atom.LOG(position, nodeCount++);
         } else if (check(TokenType.AT_INTEGER)) {
             dump("type -> integer");
-            return Atom.INT(symbol.position);
+            return Atom.INT(position, nodeCount++);
         } else if (check(TokenType.AT_STRING)) {
             dump("type -> string");
-            return Atom.STR(symbol.position);
+            return Atom.STR(position, nodeCount++);
         } else if (check(TokenType.KW_ARR)) {
             dump("type -> arr [ int_const ] type");
             if (check(TokenType.OP_LBRACKET)) {
-                var symbol2 = currentSymbol;
+                var size = tokens.lexeme();
                 if (check(TokenType.C_INTEGER)) {
                     if (check(TokenType.OP_RBRACKET)) {
                         var type = parseType();
                         return new Array(
                                 new Position(
-                                        symbol.position.start,
+                                        position.start,
                                         type.position.end
                                 ),
-                                Integer.parseInt(symbol2.lexeme),
+                                nodeCount++,
+                                Integer.parseInt(size),
                                 type
                         );
                     } else
@@ -196,7 +218,8 @@ public class Parser {
 
     private FunDef parseFunctionDefinition(Position pos) {
         dump("function_definition -> fun identifier ( parameters ) : type = expression");
-        var symbol = currentSymbol;
+        var name = tokens.lexeme();
+        var nameId = tokens.nameId();
         if (check(TokenType.IDENTIFIER)) {
             if (check(TokenType.OP_LPARENT)) {
                 var pars = parseParameters();
@@ -210,7 +233,9 @@ public class Parser {
                                             pos.start,
                                             expr.position.end
                                     ),
-                                    symbol.lexeme,
+                                    nodeCount++,
+                                    name,
+                                    nameId,
                                     pars,
                                     type,
                                     expr
@@ -250,16 +275,20 @@ public class Parser {
     @SuppressWarnings("ConstantConditions")
     private FunDef.Parameter parseParameter() {
         dump("parameter -> identifier : type");
-        var symbol = currentSymbol;
+        var start = tokens.start();
+        var name = tokens.lexeme();
+        var nameId = tokens.nameId();
         if (check(TokenType.IDENTIFIER)) {
             if (check(TokenType.OP_COLON)) {
                 var type = parseType();
                 return new FunDef.Parameter(
                         new Position(
-                                symbol.position.start,
+                                start,
                                 type.position.end
                         ),
-                        symbol.lexeme,
+                        nodeCount++,
+                        name,
+                        nameId,
                         type
                 );
             } else
@@ -281,15 +310,16 @@ public class Parser {
             dump("expression2 -> { WHERE definitions }");
             if (check(TokenType.KW_WHERE)) {
                 var defs = parseDefinitions();
-                var symbol = currentSymbol;
+                var end = tokens.end();
                 if (!check(TokenType.OP_RBRACE)) {
                     easyReport("'}'");
                 }
                 return new Where(
                         new Position(
                                 expr.position.start,
-                                symbol.position.end
+                                end
                         ),
+                        nodeCount++,
                         expr,
                         defs
                 );
@@ -316,6 +346,7 @@ public class Parser {
                     new Position(
                         left.position.start, right.position.end
                     ),
+                    nodeCount++,
                     left,
                     Binary.Operator.OR,
                     right
@@ -341,6 +372,7 @@ public class Parser {
                     new Position(
                             left.position.start, right.position.end
                     ),
+                    nodeCount++,
                     left,
                     Binary.Operator.AND,
                     right
@@ -367,6 +399,7 @@ public class Parser {
                             left.position.start,
                             right.position.end
                     ),
+                    nodeCount++,
                     left,
                     Binary.Operator.EQ,
                     right
@@ -379,6 +412,7 @@ public class Parser {
                             left.position.start,
                             right.position.end
                     ),
+                    nodeCount++,
                     left,
                     Binary.Operator.NEQ,
                     right
@@ -391,6 +425,7 @@ public class Parser {
                             left.position.start,
                             right.position.end
                     ),
+                    nodeCount++,
                     left,
                     Binary.Operator.LEQ,
                     right
@@ -403,6 +438,7 @@ public class Parser {
                             left.position.start,
                             right.position.end
                     ),
+                    nodeCount++,
                     left,
                     Binary.Operator.GEQ,
                     right
@@ -415,6 +451,7 @@ public class Parser {
                             left.position.start,
                             right.position.end
                     ),
+                    nodeCount++,
                     left,
                     Binary.Operator.LT,
                     right
@@ -427,6 +464,7 @@ public class Parser {
                             left.position.start,
                             right.position.end
                     ),
+                    nodeCount++,
                     left,
                     Binary.Operator.GT,
                     right
@@ -452,6 +490,7 @@ public class Parser {
                             left.position.start,
                             right.position.end
                     ),
+                    nodeCount++,
                     left,
                     Binary.Operator.ADD,
                     right
@@ -465,6 +504,7 @@ public class Parser {
                             left.position.start,
                             right.position.end
                     ),
+                    nodeCount++,
                     left,
                     Binary.Operator.SUB,
                     right
@@ -491,6 +531,7 @@ public class Parser {
                             left.position.start,
                             right.position.end
                     ),
+                    nodeCount++,
                     left,
                     Binary.Operator.MUL,
                     right
@@ -504,6 +545,7 @@ public class Parser {
                             left.position.start,
                             right.position.end
                     ),
+                    nodeCount++,
                     left,
                     Binary.Operator.DIV,
                     right
@@ -517,6 +559,7 @@ public class Parser {
                             left.position.start,
                             right.position.end
                     ),
+                    nodeCount++,
                     left,
                     Binary.Operator.MOD,
                     right
@@ -529,15 +572,16 @@ public class Parser {
     }
 
     private Expr parsePrefixExpression() {
-        var symbol = currentSymbol;
+        var start = tokens.start();
         if (check(TokenType.OP_ADD)) {
             dump("prefix_expression -> + prefix_expression");
             var expr = parsePrefixExpression();
             return new Unary(
                     new Position(
-                            symbol.position.start,
+                            start,
                             expr.position.end
                     ),
+                    nodeCount++,
                     expr,
                     Unary.Operator.ADD
             );
@@ -546,9 +590,10 @@ public class Parser {
             var expr = parsePrefixExpression();
             return new Unary(
                     new Position(
-                            symbol.position.start,
+                            start,
                             expr.position.end
                     ),
+                    nodeCount++,
                     expr,
                     Unary.Operator.SUB
             );
@@ -557,9 +602,10 @@ public class Parser {
             var expr = parsePrefixExpression();
             return new Unary(
                     new Position(
-                            symbol.position.start,
+                            start,
                             expr.position.end
                     ),
+                    nodeCount++,
                     expr,
                     Unary.Operator.NOT
             );
@@ -579,13 +625,14 @@ public class Parser {
         if (check(TokenType.OP_LBRACKET)) {
             dump("postfix_expression2 -> [ expression ] postfix_expression2");
             var right = parseExpression();
-            var symbol = currentSymbol;
+            var end = tokens.end();
             if (check(TokenType.OP_RBRACKET)) {
                 var bin = new Binary(
                         new Position(
                                 left.position.start,
-                                symbol.position.end
+                                end
                         ),
+                        nodeCount++,
                         left,
                         Binary.Operator.ARR,
                         right
@@ -598,78 +645,87 @@ public class Parser {
     }
 
     private Expr parseAtomExpression() {
-        var symbol = currentSymbol;
-        if (check(TokenType.C_LOGICAL)) {
+        // Leksem preberemo le za literale in imena (pri ostalih simbolih ga ne potrebujemo)
+        var type = tokens.type();
+        if (type == TokenType.C_LOGICAL) {
             dump("atom_expression -> log_constant");
-            return new Literal(
-                    symbol.position,
-                    symbol.lexeme,
-                    Atom.Type.LOG
-            );
-        } else if (check(TokenType.C_INTEGER)) {
+            return parseLiteral(Atom.Type.LOG);
+        } else if (type == TokenType.C_INTEGER) {
             dump("atom_expression -> int_constant");
-            return new Literal(
-                    symbol.position,
-                    symbol.lexeme,
-                    Atom.Type.INT
-            );
-        } else if (check(TokenType.C_STRING)) {
+            return parseLiteral(Atom.Type.INT);
+        } else if (type == TokenType.C_STRING) {
             dump("atom_expression -> str_constant");
-            return new Literal(
-                    symbol.position,
-                    symbol.lexeme,
-                    Atom.Type.STR
-            );
-        } else if (check(TokenType.OP_LPARENT)) {
+            return parseLiteral(Atom.Type.STR);
+        } else if (type == TokenType.OP_LPARENT) {
+            var start = tokens.start();
+            skip();
             dump("atom_expression -> ( expressions )");
             var exprs = parseExpressions();
-            var symbol2 = currentSymbol;
+            var end = tokens.end();
             if (!check(TokenType.OP_RPARENT)) {
                 easyReport("')'");
             }
             return new Block(
                     new Position(
-                            symbol.position.start,
-                            symbol2.position.end
+                            start,
+                            end
                     ),
+                    nodeCount++,
                     exprs
             );
-        } else if (check(TokenType.OP_LBRACE)) {
+        } else if (type == TokenType.OP_LBRACE) {
+            var position = tokens.position();
+            skip();
             dump("atom_expression -> { atom_expression3 }");
-            var expr = parseAtomExpression3(symbol.position);
+            var expr = parseAtomExpression3(position);
             if (!check(TokenType.OP_RBRACE)) {
                 easyReport("'}'");
             }
             return expr;
-        } else if (check(TokenType.IDENTIFIER)) {
-            dump("atom_expression -> identifier atom_expression2");
-            return parseAtomExpression2(
-                    symbol.position,
-                    new Name(
-                            symbol.position,
-                            symbol.lexeme
-                    )
+        } else if (type == TokenType.IDENTIFIER) {
+            var position = tokens.position();
+            var name = new Name(
+                    position,
+                    nodeCount++,
+                    tokens.lexeme(),
+                    tokens.nameId()
             );
+            skip();
+            dump("atom_expression -> identifier atom_expression2");
+            return parseAtomExpression2(position, name);
         } else {
             easyReport("CONSTANT_LOGICAL or CONSTANT_INTEGER or CONSTANT_STRING or IDENTIFIER or '{' or '('");
             return null; // Nikoli se ne izvede. Ali se bo vrnil `Expr` ali pa bo javljena napaka prevajalnika.
         }
     }
 
+    private Literal parseLiteral(Atom.Type type) {
+        var literal = new Literal(
+                tokens.position(),
+                nodeCount++,
+                tokens.lexeme(),
+                type
+        );
+        skip();
+        return literal;
+    }
+
     private Expr parseAtomExpression2(Position pos, Name name) {
         if (check(TokenType.OP_LPARENT)) {
             dump("atom_expression2 -> ( expressions )");
             var args = parseExpressions();
-            var symbol = currentSymbol;
+            var end = tokens.end();
             if (!check(TokenType.OP_RPARENT))
                 easyReport("')'");
             return new Call(
                     new Position(
                             pos.start,
-                            symbol.position.end
+                            end
                     ),
+                    nodeCount++,
                     args,
-                    name.name
+                    name.name,
+                    name.nameId
             );
         } else {
             dump("atom_expression2 -> e");
@@ -686,8 +742,9 @@ public class Parser {
                 var ifThenElse = new IfThenElse(
                         new Position(
                                 pos.start,
-                                currentSymbol.position.end
+                                tokens.end()
                         ),
+                        nodeCount++,
                         cond,
                         thenExpr
                 );
@@ -702,8 +759,9 @@ public class Parser {
                 return new While(
                         new Position(
                                 pos.start,
-                                currentSymbol.position.end
+                                tokens.end()
                         ),
+                        nodeCount++,
                         cond,
                         body
                 );
@@ -712,8 +770,10 @@ public class Parser {
         } else if (check(TokenType.KW_FOR)) {
             dump("atom_expression3 -> for identifier = expression , expression , expression : expression");
             var name = new Name(
-                    currentSymbol.position,
-                    currentSymbol.lexeme
+                    tokens.position(),
+                    nodeCount++,
+                    tokens.lexeme(),
+                    tokens.nameId()
             );
             if (check(TokenType.IDENTIFIER)) {
                 if (check(TokenType.OP_ASSIGN)) {
@@ -727,8 +787,9 @@ public class Parser {
                                 return new For(
                                         new Position(
                                                 pos.start,
-                                                currentSymbol.position.end
+                                                tokens.end()
                                         ),
+                                        nodeCount++,
                                         name,
                                         low,
                                         high,
@@ -753,8 +814,9 @@ public class Parser {
                 return new Binary(
                         new Position(
                                 pos.start,
-                                currentSymbol.position.end
+                                tokens.end()
                         ),
+                        nodeCount++,
                         left,
                         Binary.Operator.ASSIGN,
                         right
@@ -773,8 +835,9 @@ public class Parser {
             return new IfThenElse(
                     new Position(
                             pos.start,
-                            currentSymbol.position.end
+                            tokens.end()
                     ),
+                    nodeCount++,
                     ifThenElse.condition,
                     ifThenElse.thenExpression,
                     elseExpr
@@ -805,7 +868,8 @@ public class Parser {
 
     @SuppressWarnings("ConstantConditions")
     private VarDef parseVariableDefinition(Position pos) {
-        var name = currentSymbol.lexeme;
+        var name = tokens.lexeme();
+        var nameId = tokens.nameId();
         dump("variable_definition -> var identifier : type");
         if (check(TokenType.IDENTIFIER)) {
             if (check(TokenType.OP_COLON)) {
@@ -815,7 +879,9 @@ public class Parser {
                                 pos.start,
                                 type.position.end
                         ),
+                        nodeCount++,
                         name,
+                        nameId,
                         type
                 );
             } else
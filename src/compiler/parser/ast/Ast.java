@@ -9,6 +9,12 @@ import compiler.common.Visitor;
 import compiler.lexer.Position;
 
 public abstract class Ast {
+    /**
+     * Zaporedna številka vozlišča (vozlišča programa so oštevilčena po vrstnem
+     * redu nastanka, od 0 naprej; številke dodeljuje <code>Parser</code>).
+     */
+    public final int id;
+
     /**
      * Lokacija vozlišča v izvorni kodi.
      */
@@ -18,9 +24,14 @@ public abstract class Ast {
 	 * Ustvari novo vozlišče.
 	 * 
 	 * @param position Lokacija.
+	 * @param id Zaporedna številka vozlišča.
 	 */
-	public Ast(Position position) {
+	public Ast(Position position, int id) {
+		if (id < 0) {
+			throw new IllegalArgumentException("Invalid node id: " + id + "!");
+		}
 		this.position = position;
+		this.id = id;
 	}
 
     /**
@@ -16,9 +16,15 @@ public abstract class Def extends Ast {
      */
     public final String name;
 
-    public Def(Position position, String name) {
-        super(position);
+    /**
+     * Številka imena v tabeli imen.
+     */
+    public final int nameId;
+
+    public Def(Position position, int id, String name, int nameId) {
+        super(position, id);
         requireNonNull(name);
         this.name = name;
+        this.nameId = nameId;
     }
 }
@@ -19,8 +19,8 @@ public class Defs extends Ast {
      */
     public final List<Def> definitions;
 
-    public Defs(Position position, List<Def> definitions) {
-        super(position);
+    public Defs(Position position, int id, List<Def> definitions) {
+        super(position, id);
         requireNonNull(definitions);
         this.definitions = definitions;
     }
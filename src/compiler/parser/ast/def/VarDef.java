@@ -16,8 +16,8 @@ public class VarDef extends Def {
      */
     public final Type type;
 
-    public VarDef(Position position, String name, Type type) {
-        super(position, name);
+    public VarDef(Position position, int id, String name, int nameId, Type type) {
+        super(position, id, name, nameId);
         requireNonNull(type);
         this.type = type;
     }
@@ -25,8 +25,8 @@ public class Binary extends Expr {
      */
     public final Expr right;
 
-    public Binary(Position position, Expr left, Operator operator, Expr right) {
-        super(position);
+    public Binary(Position position, int id, Expr left, Operator operator, Expr right) {
+        super(position, id);
         requireNonNull(left);
         requireNonNull(operator);
         requireNonNull(right);
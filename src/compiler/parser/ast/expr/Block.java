@@ -17,8 +17,8 @@ public class Block extends Expr {
      */
     public final List<Expr> expressions;
 
-    public Block(Position position, List<Expr> expressions) {
-        super(position);
+    public Block(Position position, int id, List<Expr> expressions) {
+        super(position, id);
         requireNonNull(expressions);
         this.expressions = expressions;
     }
@@ -22,12 +22,18 @@ public class Call extends Expr {
      */
     public final String name;
 
-    public Call(Position position, List<Expr> arguments, String name) {
-        super(position);
+    /**
+     * Številka imena funkcije v tabeli imen.
+     */
+    public final int nameId;
+
+    public Call(Position position, int id, List<Expr> arguments, String name, int nameId) {
+        super(position, id);
         requireNonNull(arguments);
         requireNonNull(name);
         this.arguments = arguments;
         this.name = name;
+        this.nameId = nameId;
     }
 
 	@Override public void accept(Visitor visitor) { visitor.visit(this); }
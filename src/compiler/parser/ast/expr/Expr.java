@@ -9,7 +9,7 @@ import compiler.lexer.Position;
 import compiler.parser.ast.Ast;
 
 public abstract class Expr extends Ast {
-    public Expr(Position position) {
-        super(position);
+    public Expr(Position position, int id) {
+        super(position, id);
     }
 }
@@ -35,8 +35,8 @@ public class For extends Expr {
      */
     public final Expr body;    
 
-    public For(Position position, Name counter, Expr low, Expr high, Expr step, Expr body) {
-        super(position);
+    public For(Position position, int id, Name counter, Expr low, Expr high, Expr step, Expr body) {
+        super(position, id);
         requireNonNull(counter);
         requireNonNull(low);
         requireNonNull(high);
@@ -21,8 +21,8 @@ public class Literal extends Expr {
      */
     public final Atom.Type type;
 
-    public Literal(Position position, String value, Atom.Type type) {
-        super(position);
+    public Literal(Position position, int id, String value, Atom.Type type) {
+        super(position, id);
         requireNonNull(value);
         requireNonNull(type);
         this.value = value;
@@ -15,10 +15,16 @@ public class Name extends Expr {
      */
     public final String name;
 
-    public Name(Position position, String name) {
-        super(position);
+    /**
+     * Številka imena v tabeli imen.
+     */
+    public final int nameId;
+
+    public Name(Position position, int id, String name, int nameId) {
+        super(position, id);
         requireNonNull(name);
         this.name = name;
+        this.nameId = nameId;
     }
 
 	@Override public void accept(Visitor visitor) { visitor.visit(this); }
@@ -20,8 +20,8 @@ public class Unary extends Expr {
      */
     public final Operator operator;
 
-    public Unary(Position position, Expr expr, Operator operator) {
-        super(position);
+    public Unary(Position position, int id, Expr expr, Operator operator) {
+        super(position, id);
         requireNonNull(expr);
         requireNonNull(operator);
         this.expr = expr;
@@ -21,8 +21,8 @@ public class Where extends Expr {
      */
     public final Defs defs;
 
-    public Where(Position position, Expr expr, Defs defs) {
-        super(position);
+    public Where(Position position, int id, Expr expr, Defs defs) {
+        super(position, id);
         requireNonNull(expr);
         requireNonNull(defs);
         this.expr = expr;
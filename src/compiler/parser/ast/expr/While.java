@@ -20,8 +20,8 @@ public class While extends Expr {
      */
     public final Expr body;
 
-    public While(Position position, Expr condition, Expr body) {
-        super(position);
+    public While(Position position, int id, Expr condition, Expr body) {
+        super(position, id);
         requireNonNull(condition);
         requireNonNull(body);
         this.condition = condition;
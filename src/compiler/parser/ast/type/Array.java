@@ -20,8 +20,8 @@ public class Array extends Type {
      */
     public final Type type;
 
-    public Array(Position position, int size, Type type) {
-        super(position);
+    public Array(Position position, int id, int size, Type type) {
+        super(position, id);
         requireNonNull(size);
         requireNonNull(type);
         this.size = size;
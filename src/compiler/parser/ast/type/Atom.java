@@ -15,8 +15,8 @@ public class Atom extends Type {
      */
     public final Type type;
 
-    private Atom(Position position, Type type) {
-        super(position);
+    private Atom(Position position, int id, Type type) {
+        super(position, id);
         requireNonNull(type);
         this.type = type;
     }
@@ -24,22 +24,22 @@ public class Atom extends Type {
     /**
      * Vrne nov atomarni tip integer.
      */
-    public static Atom INT(Position position) {
-        return new Atom(position, Type.INT);
+    public static Atom INT(Position position, int id) {
+        return new Atom(position, id, Type.INT);
     }
 
     /**
      * Vrne nov atomarni tip logical.
      */
-    public static Atom LOG(Position position) {
-        return new Atom(position, Type.LOG);
+    public static Atom LOG(Position position, int id) {
+        return new Atom(position, id, Type.LOG);
     }
 
     /**
      * Vrne nov atomarni tip string.
      */
-    public static Atom STR(Position position) {
-        return new Atom(position, Type.STR);
+    public static Atom STR(Position position, int id) {
+        return new Atom(position, id, Type.STR);
     }
 
 	@Override public void accept(Visitor visitor) { visitor.visit(this); }
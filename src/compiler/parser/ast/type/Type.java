@@ -9,7 +9,7 @@ import compiler.lexer.Position;
 import compiler.parser.ast.Ast;
 
 public abstract class Type extends Ast {
-    public Type(Position position) {
-        super(position);
+    public Type(Position position, int id) {
+        super(position, id);
     }
 }
@@ -15,10 +15,16 @@ public class TypeName extends Type {
      */
     public final String identifier;
 
-    public TypeName(Position position, String identifier) {
-        super(position);
+    /**
+     * Številka imena tipa v tabeli imen.
+     */
+    public final int nameId;
+
+    public TypeName(Position position, int id, String identifier, int nameId) {
+        super(position, id);
         requireNonNull(identifier);
         this.identifier = identifier;
+        this.nameId = nameId;
     }
 
 	@Override public void accept(Visitor visitor) { visitor.visit(this); }
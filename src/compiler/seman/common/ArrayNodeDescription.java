@@ -0,0 +1,49 @@
+/**
+ * @ Description: Preslikava iz vozlišč abstraktnega sintaksnega drevesa
+ * v vrednosti, shranjene v tabeli, indeksirani s številko vozlišča.
+ */
+
+package compiler.seman.common;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import compiler.parser.ast.Ast;
+
+public class ArrayNodeDescription<T> extends NodeDescription<T> {
+    private Object[] values;
+    private int size = 0;
+
+    /**
+     * @param capacity Število vozlišč programa (<code>Parser.nodeCount()</code>).
+     */
+    public ArrayNodeDescription(int capacity) {
+        this.values = new Object[Math.max(capacity, 16)];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<T> valueFor(Ast node) {
+        return node.id < values.length ? Optional.ofNullable((T) values[node.id]) : Optional.empty();
+    }
+
+    @Override
+    public boolean store(T value, Ast forNode) {
+        if (forNode.id >= values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length * 2, forNode.id + 1));
+        }
+        var previous = values[forNode.id];
+        values[forNode.id] = value;
+        if (previous == null && value != null) {
+            size++;
+        } else if (previous != null && value == null) {
+            size--;
+        }
+        return previous == null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -30,4 +30,11 @@ public class NodeDescription<T> {
     public boolean store(T value, Ast forNode) {
         return storage.put(forNode, value) == null;
     }
+
+    /**
+     * Vrne število vozlišč, za katera je shranjena vrednost.
+     */
+    public int size() {
+        return storage.size();
+    }
 }
@@ -49,10 +49,10 @@ public class NameChecker implements Visitor {
          */
 
         // Pridobi definicijo funkcije
-        var def = symbolTable.definitionFor(call.name);
+        var def = symbolTable.definitionFor(call.nameId);
 
         // Preverjanje ujemanju funkcije iz standardne knjižnice
-        if (StandardFunctions.exists(call.name)) {
+        if (StandardFunctions.exists(call.nameId)) {
             call.arguments.forEach(expr -> expr.accept(this));
         }
         // Definicija obstaja
@@ -116,7 +116,7 @@ public class NameChecker implements Visitor {
          */
 
         // Pridobi definicijo imena
-        var def = symbolTable.definitionFor(name.name);
+        var def = symbolTable.definitionFor(name.nameId);
 
         // Definicija obstaja
         if (def.isPresent()) {
@@ -241,7 +241,7 @@ public class NameChecker implements Visitor {
          */
 
         // Pridobi definicijo uporabniško definiranega tipa
-        var def = symbolTable.definitionFor(name.identifier);
+        var def = symbolTable.definitionFor(name.nameId);
 
         // Definicija obstaja
         if (def.isPresent()) {
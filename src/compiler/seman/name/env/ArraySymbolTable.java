@@ -0,0 +1,105 @@
+/**
+ * @ Description: Implementacija simbolne tabele s tabelami, indeksiranimi s številko imena,
+ * in dnevnikom sprememb za vsak nivo gnezdenja.
+ */
+
+package compiler.seman.name.env;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import compiler.parser.ast.def.Def;
+
+public class ArraySymbolTable implements SymbolTable {
+    /**
+     * Trenutno vidna definicija imena in nivo gnezdenja, na katerem je bila
+     * vstavljena (indeks je številka imena).
+     */
+    private Def[] definitions = new Def[64];
+    private int[] scopes = new int[64];
+
+    /**
+     * Dnevnik sprememb: za vsako vstavljanje številka imena ter prej vidna
+     * definicija in njen nivo, ki ju ob izhodu iz nivoja obnovimo.
+     */
+    private int[] logNames = new int[64];
+    private Def[] logDefinitions = new Def[64];
+    private int[] logScopes = new int[64];
+    private int logSize = 0;
+
+    /**
+     * Velikost dnevnika ob vstopu v posamezni nivo gnezdenja (indeks je nivo).
+     */
+    private int[] scopeStarts = new int[16];
+    private int currentScope = 0;
+
+    /**
+     * @complexity O(1) (amortizirano)
+     */
+    @Override
+    public void insert(Def definition) throws DefinitionAlreadyExistsException {
+        var nameId = definition.nameId;
+        if (nameId >= definitions.length) {
+            var capacity = Math.max(definitions.length * 2, nameId + 1);
+            definitions = Arrays.copyOf(definitions, capacity);
+            scopes = Arrays.copyOf(scopes, capacity);
+        }
+        if (definitions[nameId] != null && scopes[nameId] == currentScope) {
+            throw new DefinitionAlreadyExistsException(definition);
+        }
+        if (logSize == logNames.length) {
+            var capacity = logSize * 2;
+            logNames = Arrays.copyOf(logNames, capacity);
+            logDefinitions = Arrays.copyOf(logDefinitions, capacity);
+            logScopes = Arrays.copyOf(logScopes, capacity);
+        }
+        logNames[logSize] = nameId;
+        logDefinitions[logSize] = definitions[nameId];
+        logScopes[logSize] = scopes[nameId];
+        logSize++;
+        definitions[nameId] = definition;
+        scopes[nameId] = currentScope;
+    }
+
+    /**
+     * @complexity O(1)
+     */
+    @Override
+    public Optional<Def> definitionFor(int nameId) {
+        if (nameId < 0 || nameId >= definitions.length) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(definitions[nameId]);
+    }
+
+    /**
+     * @complexity O(1) (amortizirano)
+     */
+    @Override
+    public void pushScope() {
+        currentScope++;
+        if (currentScope == scopeStarts.length) {
+            scopeStarts = Arrays.copyOf(scopeStarts, currentScope * 2);
+        }
+        scopeStarts[currentScope] = logSize;
+    }
+
+    /**
+     * @complexity O(n), n ... število definicij na trenutnem nivoju
+     */
+    @Override
+    public void popScope() {
+        if (currentScope == 0) {
+            throw new RuntimeException("Interna napaka prevajalnika.");
+        }
+        var start = scopeStarts[currentScope];
+        while (logSize > start) {
+            logSize--;
+            var nameId = logNames[logSize];
+            definitions[nameId] = logDefinitions[logSize];
+            scopes[nameId] = logScopes[logSize];
+            logDefinitions[logSize] = null;
+        }
+        currentScope--;
+    }
+}
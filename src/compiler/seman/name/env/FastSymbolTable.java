@@ -14,8 +14,12 @@ import compiler.parser.ast.def.Def;
 
 public class FastSymbolTable implements SymbolTable {
     private int currentScope = 0;
-    private final Map<Integer, ArrayList<String>> scopes = new HashMap<>();
-    private final Map<String, ArrayList<Pair>> env = new HashMap<>();
+    private final Map<Integer, ArrayList<Integer>> scopes = new HashMap<>();
+
+    /**
+     * Sklad definicij za vsako ime (indeks je številka imena).
+     */
+    private final ArrayList<ArrayList<Pair>> env = new ArrayList<>();
 
     public FastSymbolTable() {
         scopes.put(currentScope, new ArrayList<>());
@@ -23,7 +27,7 @@ public class FastSymbolTable implements SymbolTable {
 
     @Override
     public void insert(Def definition) throws DefinitionAlreadyExistsException {
-        var definitions = env.get(definition.name);
+        var definitions = definitions(definition.nameId);
         if (definitions != null) {
             if (!definitions.isEmpty() && definitions.get(definitions.size() - 1).scope == currentScope) {
                 throw new DefinitionAlreadyExistsException(definition);
@@ -32,21 +36,21 @@ public class FastSymbolTable implements SymbolTable {
         } else {
             var stack = new ArrayList<Pair>();
             stack.add(new Pair(currentScope, definition));
-            env.put(definition.name, stack);
+            env.set(definition.nameId, stack);
         }
         var existingScope = scopes.get(currentScope);
         if (existingScope == null) {
-            var list = new ArrayList<String>();
-            list.add(definition.name);
+            var list = new ArrayList<Integer>();
+            list.add(definition.nameId);
             scopes.put(currentScope, list);
         } else {
-            existingScope.add(definition.name);
+            existingScope.add(definition.nameId);
         }
     }
 
     @Override
-    public Optional<Def> definitionFor(String name) {
-        var definitions = env.get(name);
+    public Optional<Def> definitionFor(int nameId) {
+        var definitions = definitions(nameId);
         if (definitions == null || definitions.isEmpty()) {
             return Optional.empty();
         }
@@ -62,8 +66,8 @@ public class FastSymbolTable implements SymbolTable {
     public void popScope() {
         var scope = scopes.get(currentScope);
         if (scope == null) { return; }
-        for (var name : scope) {
-            var definitions = env.get(name);
+        for (var nameId : scope) {
+            var definitions = env.get(nameId);
             if (definitions.get(definitions.size() - 1).scope != currentScope) {
                 throw new RuntimeException("Interna napaka prevajalnika.");
             }
@@ -73,6 +77,16 @@ public class FastSymbolTable implements SymbolTable {
         currentScope--;
     }
 
+    /**
+     * Sklad definicij za ime oz. <code>null</code>; tabelo po potrebi poveča.
+     */
+    private ArrayList<Pair> definitions(int nameId) {
+        while (env.size() <= nameId) {
+            env.add(null);
+        }
+        return env.get(nameId);
+    }
+
     private static class Pair {
         final int scope;
         final Def def;
@@ -26,22 +26,22 @@ public class SimpleSymbolTable implements SymbolTable {
     @Override
     public void insert(Def definition) throws DefinitionAlreadyExistsException {
         if (stack.isEmpty()) { throw new RuntimeException(); }
-        if (stack.get(stack.size() - 1).mapping.containsKey(definition.name)) {
+        if (stack.get(stack.size() - 1).mapping.containsKey(definition.nameId)) {
             throw new DefinitionAlreadyExistsException(definition);
         }
-        stack.get(stack.size() - 1).mapping.put(definition.name, definition);
+        stack.get(stack.size() - 1).mapping.put(definition.nameId, definition);
     }
 
     /**
      * @complexity O(k), k ... globina gnezdenja
      */
     @Override
-    public Optional<Def> definitionFor(String name) {
+    public Optional<Def> definitionFor(int nameId) {
         if (stack.isEmpty()) { throw new RuntimeException(); }
         for (int i = stack.size() - 1; i >= 0; i--) {
             var env = stack.get(i);
-            if (env.mapping.containsKey(name)) {
-                return Optional.of(env.mapping.get(name));
+            if (env.mapping.containsKey(nameId)) {
+                return Optional.of(env.mapping.get(nameId));
             }
         }
         return Optional.empty();
@@ -65,6 +65,6 @@ public class SimpleSymbolTable implements SymbolTable {
     }
 
     private static class Env {
-        HashMap<String, Def> mapping = new HashMap<>();
+        HashMap<Integer, Def> mapping = new HashMap<>();
     }
 }
@@ -24,9 +24,9 @@ public interface SymbolTable {
      * Vrni definicijo za ime ali `Optional.empty()`,
      * če definicija s podanim imenom ne obstaja.
      * 
-     * @param name ime definicije
+     * @param nameId številka imena definicije v tabeli imen
      */
-    Optional<Def> definitionFor(String name);
+    Optional<Def> definitionFor(int nameId);
 
     /**
      * Povečaj nivo gnezdenja.
@@ -46,7 +46,7 @@ public class TypeChecker implements Visitor {
         call.arguments.forEach(expr -> expr.accept(this));
 
         if (this.definitions.valueFor(call).isEmpty()) {
-            if (StandardFunctions.exists(call.name)) {
+            if (StandardFunctions.exists(call.nameId)) {
                 StandardFunctions.checkType(call, this.types);
                 return;
             }
@@ -116,7 +116,7 @@ public class TypeChecker implements Visitor {
         } else if (left.isInt() && right.isInt()) {
             switch (binary.operator) {
                 case ADD, SUB, MUL, DIV, MOD, ASSIGN -> this.types.store(left, binary);
-                case EQ, NEQ, LEQ, GEQ, LT, GT -> this.types.store(new Type.Atom(Type.Atom.Kind.LOG), binary);
+                case EQ, NEQ, LEQ, GEQ, LT, GT -> this.types.store(Type.Atom.of(Type.Atom.Kind.LOG), binary);
                 default -> Report.error(binary.position, "SEM: Incompatible operator. Expected from set " +
                         "{ additive, multiplicative, equality, relational }, got '" + binary.operator + "' instead.");
             }
@@ -181,10 +181,10 @@ public class TypeChecker implements Visitor {
                 this.types.valueFor(forLoop.low).get().isInt() &&
                 this.types.valueFor(forLoop.high).get().isInt() &&
                 this.types.valueFor(forLoop.step).get().isInt())
-            this.types.store(new Type.Atom(Type.Atom.Kind.VOID), forLoop);
+            this.types.store(Type.Atom.of(Type.Atom.Kind.VOID), forLoop);
         else
             Report.error(forLoop.position, "SEM: Type mismatch. All 'for' components must be of type '" +
-                    new Type.Atom(Type.Atom.Kind.INT).kind + "'.");
+                    Type.Atom.Kind.INT + "'.");
     }
 
     @Override
@@ -221,10 +221,10 @@ public class TypeChecker implements Visitor {
                 "not present."); return; }
 
         if (this.types.valueFor(ifThenElse.condition).get().isLog())
-            this.types.store(new Type.Atom(Type.Atom.Kind.VOID), ifThenElse);
+            this.types.store(Type.Atom.of(Type.Atom.Kind.VOID), ifThenElse);
         else
             Report.error(ifThenElse.position, "SEM: Type mismatch. 'if' condition must be of type '" +
-                    new Type.Atom(Type.Atom.Kind.LOG) + "'.");
+                    Type.Atom.of(Type.Atom.Kind.LOG) + "'.");
     }
 
     @SuppressWarnings("UnnecessaryDefault")
@@ -240,7 +240,7 @@ public class TypeChecker implements Visitor {
         };
         if (kind.equals(Type.Atom.Kind.VOID))
             Report.error(literal.position, "SEM: Unknown Type of Literal.");
-        this.types.store(new Type.Atom(kind), literal);
+        this.types.store(Type.Atom.of(kind), literal);
     }
 
     @Override
@@ -286,10 +286,10 @@ public class TypeChecker implements Visitor {
                 "not present."); return; }
 
         if (this.types.valueFor(whileLoop.condition).get().isLog())
-            this.types.store(new Type.Atom(Type.Atom.Kind.VOID), whileLoop);
+            this.types.store(Type.Atom.of(Type.Atom.Kind.VOID), whileLoop);
         else
             Report.error(whileLoop.condition.position, "SEM: Type mismatch. 'while' condition must be of type '" +
-                    new Type.Atom(Type.Atom.Kind.LOG) + "'.");
+                    Type.Atom.of(Type.Atom.Kind.LOG) + "'.");
     }
 
     @Override
@@ -354,7 +354,7 @@ public class TypeChecker implements Visitor {
             Report.error(funDef.position, "SEM: 'fun' type mismatch. Expected '" + returnType + "', got '"
                     + expressionType + "'.");
 
-        this.types.store(new Type.Function(parameterTypes, returnType), funDef);
+        this.types.store(Type.Function.of(parameterTypes, returnType), funDef);
     }
 
     @Override
@@ -417,7 +417,7 @@ public class TypeChecker implements Visitor {
             Report.error(array.type.position, "SEM: Type of 'ARR' not present.");
 
         // Shrani tip Array-a
-        this.types.store(new Type.Array(array.size, this.types.valueFor(array.type).get()), array);
+        this.types.store(Type.Array.of(array.size, this.types.valueFor(array.type).get()), array);
     }
 
     @SuppressWarnings({"UnnecessaryDefault", "DuplicatedCode"})
@@ -432,7 +432,7 @@ public class TypeChecker implements Visitor {
         };
         if (kind.equals(Type.Atom.Kind.VOID))
             Report.error(atom.position, "SEM: Unknown Type of Atom.");
-        this.types.store(new Type.Atom(kind), atom);
+        this.types.store(Type.Atom.of(kind), atom);
     }
 
     @Override
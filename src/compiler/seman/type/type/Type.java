@@ -7,14 +7,29 @@ package compiler.seman.type.type;
 
 import static common.RequireNonNull.requireNonNull;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import common.Constants;
 
+/**
+ * Tipi so enolični: enaka tipa sta vedno ista instanca (ustvarimo jih z
+ * metodami <code>of</code>), zato je strukturna enakost kar enakost referenc.
+ * Tabele enoličnih tipov so skupne vsem prevajanjem in živijo, dokler
+ * živi JVM (tipov je malo, ker so enolični); ker so sočasne, je ustvarjanje
+ * tipov varno tudi iz več niti.
+ */
 @SuppressWarnings("unused")
 public abstract class Type {
+    /**
+     * Tabele s tem tipom elementov (ključ je število elementov).
+     */
+    private final Map<Integer, Array> arrays = new ConcurrentHashMap<>();
+
     /**
      * Vrne velikost tipa v bytih.
      */
@@ -30,7 +45,9 @@ public abstract class Type {
     /**
      * Ali tip strukturno enak drugemu tipu.
      */
-    public abstract boolean equals(Type t);
+    public final boolean equals(Type t) {
+        return this == t;
+    }
 
     // ------------------------------------
 
@@ -116,11 +133,30 @@ public abstract class Type {
          */
         public final Kind kind;
 
-        public Atom(Kind kind) {
+        /**
+         * Atomarni tipi (indeks je `ordinal()` vrste).
+         */
+        private static final Atom[] atoms = new Atom[Kind.values().length];
+
+        static {
+            for (var kind : Kind.values()) {
+                atoms[kind.ordinal()] = new Atom(kind);
+            }
+        }
+
+        private Atom(Kind kind) {
             requireNonNull(kind);
             this.kind = kind;
         }
 
+        /**
+         * Vrne atomarni tip podane vrste.
+         */
+        public static Atom of(Kind kind) {
+            requireNonNull(kind);
+            return atoms[kind.ordinal()];
+        }
+
         @Override
         public int sizeInBytes() {
             return kind.size;
@@ -131,11 +167,6 @@ public abstract class Type {
             return kind.size;
         }
 
-        @Override
-        public boolean equals(Type t) {
-            return t.asAtom().isPresent() && this.kind == t.asAtom().get().kind;
-        }
-
         @Override
         public String toString() {
             return switch (kind) {
@@ -171,15 +202,28 @@ public abstract class Type {
          */
         public final Type type;
 
-        public Array(int size, Type type) {
-            requireNonNull(type);
+        /**
+         * Velikost tabele v bytih.
+         */
+        private final int bytes;
+
+        private Array(int size, Type type) {
             this.size = size;
             this.type = type;
+            this.bytes = size * type.sizeInBytes();
+        }
+
+        /**
+         * Vrne tip tabele s <code>size</code> elementi tipa <code>type</code>.
+         */
+        public static Array of(int size, Type type) {
+            requireNonNull(type);
+            return type.arrays.computeIfAbsent(size, __ -> new Array(size, type));
         }
 
         @Override
         public int sizeInBytes() {
-            return this.size * this.type.sizeInBytes();
+            return bytes;
         }
 
         @Override
@@ -191,13 +235,6 @@ public abstract class Type {
             return this.type.sizeInBytes();
         }
 
-        @Override
-        public boolean equals(Type t) {
-            return t.asArray().isPresent() &&
-                    this.size == t.asArray().get().size &&
-                    this.type.equals(t.asArray().get().type);
-        }
-
         @Override
         public String toString() {
             return "ARR("+size+","+type.toString()+")";
@@ -218,18 +255,39 @@ public abstract class Type {
          */
         public final Type returnType;
 
-        public Function(List<Type> parameters, Type returnType) {
-            requireNonNull(parameters);
-            requireNonNull(returnType);
+        /**
+         * Funkcijski tipi; ključ so tipi parametrov, ki jim sledi tip rezultata.
+         */
+        private static final Map<List<Type>, Function> functions = new ConcurrentHashMap<>();
+
+        /**
+         * Velikost v bytih.
+         */
+        private final int bytes;
+
+        private Function(List<Type> parameters, Type returnType) {
             this.parameters = parameters;
             this.returnType = returnType;
+            int bytes = this.returnType.sizeInBytes();
+            for (var parameter : this.parameters)
+                bytes += parameter.sizeInBytesAsParam();
+            this.bytes = bytes;
+        }
+
+        /**
+         * Vrne tip funkcije s podanimi tipi parametrov in tipom rezultata.
+         */
+        public static Function of(List<Type> parameters, Type returnType) {
+            requireNonNull(parameters);
+            requireNonNull(returnType);
+            var key = new ArrayList<Type>(parameters.size() + 1);
+            key.addAll(parameters);
+            key.add(returnType);
+            return functions.computeIfAbsent(List.copyOf(key), __ -> new Function(List.copyOf(parameters), returnType));
         }
 
         @Override
         public int sizeInBytes() {
-            int bytes = this.returnType.sizeInBytes();
-            for (var parameter : this.parameters)
-                bytes += parameter.sizeInBytesAsParam();
             return bytes;
         }
 
@@ -238,20 +296,6 @@ public abstract class Type {
             return Constants.WordSize;
         }
 
-        @Override
-        public boolean equals(Type t) {
-            if (t.asFunction().isPresent() &&
-                    this.returnType.equals(t.asFunction().get().returnType) &&
-                    this.parameters.size() == t.asFunction().get().parameters.size()) {
-                for (int i = 0; i < this.parameters.size(); i++) {
-                    if (!this.parameters.get(i).equals(t.asFunction().get().parameters.get(i)))
-                        return false;
-                }
-                return true;
-            }
-            return false;
-        }
-
         @SuppressWarnings("Convert2MethodRef")
         @Override
         public String toString() {
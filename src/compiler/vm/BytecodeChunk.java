@@ -0,0 +1,63 @@
+/**
+ * @ Description: Fragment kode, preveden v ukaze navideznega stroja.
+ */
+
+package compiler.vm;
+
+import static common.RequireNonNull.requireNonNull;
+
+import compiler.frm.Frame;
+
+public class BytecodeChunk {
+    /**
+     * Klicni zapis funkcije.
+     */
+    public final Frame frame;
+
+    /**
+     * Ukazi in njihovi operandi.
+     */
+    public final int[] code;
+
+    /**
+     * Število začasnih spremenljivk (registrov) funkcije.
+     */
+    public final int tempCount;
+
+    /**
+     * Največja globina sklada operandov znotraj funkcije.
+     */
+    public final int maxStack;
+
+    /**
+     * Velikost klicnega zapisa (predizračunano).
+     */
+    final int frameSize;
+
+    /**
+     * Odmik shranjenega FP od vrha klicnega zapisa (predizračunano).
+     */
+    final int oldFPOffset;
+
+    public BytecodeChunk(Frame frame, int[] code, int tempCount, int maxStack) {
+        requireNonNull(frame, code);
+        this.frame = frame;
+        this.code = code;
+        this.tempCount = tempCount;
+        this.maxStack = maxStack;
+        this.frameSize = frame.size();
+        this.oldFPOffset = frame.oldFPOffset();
+    }
+
+    @Override
+    public String toString() {
+        var sb = new StringBuilder(frame.toString());
+        for (int pc = 0; pc < code.length; pc += 1 + Opcode.operandCount(code[pc])) {
+            sb.append("\n").append(pc).append(": ").append(Opcode.name(code[pc]));
+            for (int i = 1; i <= Opcode.operandCount(code[pc]); i++) {
+                sb.append(" ").append(code[pc + i]);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,336 @@
+/**
+ * @ Description: Prevajanje linearizirane vmesne kode v ukaze navideznega stroja.
+ */
+
+package compiler.vm;
+
+import static common.RequireNonNull.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import common.Constants;
+import common.Report;
+import compiler.frm.Frame;
+import compiler.gen.Memory;
+import compiler.ir.chunk.Chunk.CodeChunk;
+import compiler.ir.code.expr.*;
+import compiler.ir.code.stmt.*;
+import stdlib.StandardFunctions;
+
+public class BytecodeGenerator {
+    /**
+     * Pomnilnik navideznega stroja.
+     * Iz njega razrešimo naslove label in kodo klicanih funkcij.
+     */
+    private final Memory memory;
+
+    /**
+     * Preslikava iz label funkcij v indekse konstantnega bazena.
+     */
+    private final Map<Frame.Label, Integer> poolIndices = new HashMap<>();
+
+    /**
+     * Funkcije, ki jih še moramo prevesti.
+     */
+    private final ArrayDeque<CodeChunk> worklist = new ArrayDeque<>();
+
+    // --- stanje trenutno prevajane funkcije ---
+
+    private int[] code;
+    private int length;
+    private int depth;
+    private int maxDepth;
+    private Map<Frame.Label, Integer> labels;
+    private List<Fixup> fixups;
+
+    public BytecodeGenerator(Memory memory) {
+        requireNonNull(memory);
+        this.memory = memory;
+    }
+
+    /**
+     * Prevede funkcijo `main` in vse funkcije, ki so iz nje dosegljive s klici.
+     */
+    public Program generate(CodeChunk main) {
+        requireNonNull(main);
+        poolIndex(main.frame.label, main);
+        var pool = new ArrayList<BytecodeChunk>();
+        while (!worklist.isEmpty()) {
+            pool.add(generateChunk(worklist.poll()));
+        }
+        return new Program(pool.toArray(new BytecodeChunk[0]));
+    }
+
+    private BytecodeChunk generateChunk(CodeChunk chunk) {
+        if (!(chunk.code instanceof SeqStmt seq)) {
+            throw new RuntimeException("Linearize IR!");
+        }
+        code = new int[Math.max(16, seq.statements.size() * 4)];
+        length = 0;
+        depth = 0;
+        maxDepth = 0;
+        labels = new HashMap<>();
+        fixups = new ArrayList<>();
+
+        for (var stmt : seq.statements) {
+            generate(stmt);
+        }
+        emit(Opcode.RET);
+
+        for (var fixup : fixups) {
+            var target = labels.get(fixup.label);
+            if (target == null) {
+                throw new IllegalArgumentException("Unknown label " + fixup.label + " in " + chunk.frame.label + "!");
+            }
+            code[fixup.position] = target;
+        }
+        return new BytecodeChunk(chunk.frame, Arrays.copyOf(code, length), chunk.tempCount, maxDepth);
+    }
+
+    // --------- stavki ----------
+
+    private void generate(IRStmt stmt) {
+        if (stmt instanceof CJumpStmt cjump) {
+            generate(cjump.condition);
+            emit(Opcode.CJMP, -1);
+            label(cjump.thenLabel);
+            label(cjump.elseLabel);
+        } else if (stmt instanceof ExpStmt exp) {
+            generate(exp.expr);
+            emit(Opcode.POP, -1);
+        } else if (stmt instanceof JumpStmt jump) {
+            emit(Opcode.JMP, 0);
+            label(jump.label);
+        } else if (stmt instanceof LabelStmt label) {
+            labels.put(label.label, length);
+        } else if (stmt instanceof MoveStmt move) {
+            generate(move);
+        } else if (stmt instanceof SeqStmt seq) {
+            seq.statements.forEach(this::generate);
+        } else {
+            throw new RuntimeException("Cannot execute this statement!");
+        }
+    }
+
+    private void generate(MoveStmt move) {
+        if (move.dst instanceof MemExpr memExpr) {
+            var offset = localOffset(memExpr.expr);
+            var index = indexed(memExpr.expr);
+            if (offset != null) {
+                generate(move.src);
+                emit(Opcode.STL, -1);
+                code[length++] = offset;
+            } else if (index != null) {
+                generate(((BinopExpr) memExpr.expr).lhs);
+                generate(index.lhs);
+                generate(move.src);
+                emit(Opcode.STX, -3);
+                code[length++] = ((ConstantExpr) index.rhs).constant;
+            } else {
+                generate(memExpr.expr);
+                generate(move.src);
+                emit(Opcode.STM, -2);
+            }
+        } else if (move.dst instanceof TempExpr tempExpr) {
+            if (move.src instanceof MemExpr mem && localOffset(mem.expr) != null) {
+                emit(Opcode.LDLT, 0);
+                code[length++] = localOffset(mem.expr);
+                code[length++] = tempExpr.temp.id;
+            } else if (move.src instanceof MemExpr mem && indexed(mem.expr) == null) {
+                generate(mem.expr);
+                emit(Opcode.LDMT, -1);
+                code[length++] = tempExpr.temp.id;
+            } else {
+                generate(move.src);
+                emit(Opcode.STT, -1);
+                code[length++] = tempExpr.temp.id;
+            }
+        } else {
+            Report.error("INT: Interpreter error. MoveStmt must be succeeded by MemExpr or TempExpr.");
+        }
+    }
+
+    // --------- izrazi ----------
+
+    private void generate(IRExpr expr) {
+        if (expr instanceof BinopExpr binop) {
+            generate(binop.lhs);
+            generate(binop.rhs);
+            emit(opcode(binop.op), -1);
+        } else if (expr instanceof CallExpr call) {
+            generate(call);
+        } else if (expr instanceof ConstantExpr constant) {
+            emit(Opcode.CONST, 1);
+            code[length++] = constant.constant;
+        } else if (expr instanceof EseqExpr) {
+            throw new RuntimeException("Cannot execute ESEQ; linearize IRCode!");
+        } else if (expr instanceof MemExpr mem) {
+            generate(mem);
+        } else if (expr instanceof NameExpr name) {
+            if (name.label.name.equals(Constants.framePointer)) {
+                emit(Opcode.FP, 1);
+            } else if (name.label.name.equals(Constants.stackPointer)) {
+                emit(Opcode.SP, 1);
+            } else {
+                emit(Opcode.CONST, 1);
+                code[length++] = memory.address(name.label);
+            }
+        } else if (expr instanceof TempExpr temp) {
+            emit(Opcode.LDT, 1);
+            code[length++] = temp.temp.id;
+        } else {
+            throw new IllegalArgumentException("Unknown expr type");
+        }
+    }
+
+    private void generate(MemExpr mem) {
+        var offset = localOffset(mem.expr);
+        var index = indexed(mem.expr);
+        if (offset != null) {
+            emit(Opcode.LDL, 1);
+            code[length++] = offset;
+        } else if (index != null) {
+            generate(((BinopExpr) mem.expr).lhs);
+            generate(index.lhs);
+            emit(Opcode.LDX, -1);
+            code[length++] = ((ConstantExpr) index.rhs).constant;
+        } else {
+            generate(mem.expr);
+            emit(Opcode.LDM, 0);
+        }
+    }
+
+    private void generate(CallExpr call) {
+        var function = StandardFunctions.get(call.label);
+        if (function != null) {
+            if (call.args.size() != function.callArgs()) { throw new RuntimeException("Invalid argument count!"); }
+            var opcode = switch (function) {
+                case print_int -> Opcode.PRINT_INT;
+                case print_str -> Opcode.PRINT_STR;
+                case print_log -> Opcode.PRINT_LOG;
+                case rand_int -> Opcode.RAND_INT;
+                case seed -> Opcode.SEED;
+            };
+            call.args.forEach(this::generate);
+            emit(opcode, 1 - call.args.size());
+        } else if (memory.ldM(call.label) instanceof CodeChunk callee) {
+            call.args.forEach(this::generate);
+            emit(Opcode.CALL, 1 - call.args.size());
+            code[length++] = poolIndex(call.label, callee);
+            code[length++] = call.args.size();
+        } else {
+            throw new RuntimeException("Only functions can be called!");
+        }
+    }
+
+    // ----------- pomožne funkcije -----------
+
+    private int opcode(BinopExpr.Operator op) {
+        return switch (op) {
+            case ADD -> Opcode.ADD;
+            case SUB -> Opcode.SUB;
+            case MUL -> Opcode.MUL;
+            case DIV -> Opcode.DIV;
+            case MOD -> Opcode.MOD;
+            case AND -> Opcode.AND;
+            case OR -> Opcode.OR;
+            case EQ -> Opcode.EQ;
+            case NEQ -> Opcode.NEQ;
+            case LT -> Opcode.LT;
+            case GT -> Opcode.GT;
+            case LEQ -> Opcode.LEQ;
+            case GEQ -> Opcode.GEQ;
+        };
+    }
+
+    /**
+     * Odmik lokacije od FP, če je naslov oblike <code>FP</code> ali
+     * <code>FP ± CONST</code> (lokalna spremenljivka ali parameter), sicer `null`.
+     */
+    private static Integer localOffset(IRExpr address) {
+        if (address instanceof NameExpr name && name.label.name.equals(Constants.framePointer)) {
+            return 0;
+        }
+        if (address instanceof BinopExpr binop
+                && binop.lhs instanceof NameExpr name && name.label.name.equals(Constants.framePointer)
+                && binop.rhs instanceof ConstantExpr constant) {
+            if (binop.op == BinopExpr.Operator.ADD) {
+                return constant.constant;
+            } else if (binop.op == BinopExpr.Operator.SUB) {
+                return -constant.constant;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Množenje <code>i * CONST</code>, če je naslov oblike
+     * <code>b + i * CONST</code> (dostop do elementa tabele), sicer `null`.
+     */
+    private static BinopExpr indexed(IRExpr address) {
+        if (address instanceof BinopExpr binop && binop.op == BinopExpr.Operator.ADD
+                && binop.rhs instanceof BinopExpr index && index.op == BinopExpr.Operator.MUL
+                && index.rhs instanceof ConstantExpr) {
+            return index;
+        }
+        return null;
+    }
+
+    /**
+     * Doda ukaz v kodo in posodobi globino sklada operandov.
+     *
+     * @param stackEffect sprememba globine sklada po izvedbi ukaza
+     */
+    private void emit(int opcode, int stackEffect) {
+        ensureCapacity(1 + Opcode.operandCount(opcode));
+        code[length++] = opcode;
+        depth += stackEffect;
+        maxDepth = Math.max(maxDepth, depth);
+    }
+
+    private void emit(int opcode) {
+        emit(opcode, 0);
+    }
+
+    /**
+     * Doda operand, ki bo po prevodu funkcije zamenjan z naslovom labele.
+     */
+    private void label(Frame.Label label) {
+        fixups.add(new Fixup(length, label));
+        code[length++] = -1;
+    }
+
+    private int poolIndex(Frame.Label label, CodeChunk chunk) {
+        var index = poolIndices.get(label);
+        if (index == null) {
+            index = poolIndices.size();
+            poolIndices.put(label, index);
+            worklist.add(chunk);
+        }
+        return index;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (length + additional > code.length) {
+            code = Arrays.copyOf(code, Math.max(code.length * 2, length + additional));
+        }
+    }
+
+    /**
+     * Operand, ki čaka na razrešitev labele.
+     */
+    private static class Fixup {
+        final int position;
+        final Frame.Label label;
+
+        Fixup(int position, Frame.Label label) {
+            this.position = position;
+            this.label = label;
+        }
+    }
+}
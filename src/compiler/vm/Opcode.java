@@ -0,0 +1,95 @@
+/**
+ * @ Description: Ukazi navideznega stroja (bytecode).
+ */
+
+package compiler.vm;
+
+/**
+ * Operacijske kode ukazov. Ukaz je v kodi predstavljen z eno celico
+ * tabele `int[]`, ki ji sledijo morebitni operandi.
+ *
+ * Stroj je skladovni: operandi izrazov se nahajajo na skladu operandov.
+ */
+public final class Opcode {
+    private Opcode() {}
+
+    // --- nalaganje vrednosti ---
+    public static final int CONST = 0;      // CONST v       : push v
+    public static final int FP = 1;         // FP            : push FP
+    public static final int SP = 2;         // SP            : push SP
+    public static final int LDT = 3;        // LDT r         : push T[r]
+    public static final int STT = 4;        // STT r         : T[r] = pop
+    public static final int LDM = 5;        // LDM           : push MEM[pop]
+    public static final int STM = 6;        // STM           : v = pop; MEM[pop] = v
+    public static final int POP = 7;        // POP           : pop
+
+    // --- aritmetični, logični in primerjalni operatorji ---
+    public static final int ADD = 8;
+    public static final int SUB = 9;
+    public static final int MUL = 10;
+    public static final int DIV = 11;
+    public static final int MOD = 12;
+    public static final int AND = 13;
+    public static final int OR = 14;
+    public static final int EQ = 15;
+    public static final int NEQ = 16;
+    public static final int LT = 17;
+    public static final int GT = 18;
+    public static final int LEQ = 19;
+    public static final int GEQ = 20;
+
+    // --- skoki ---
+    public static final int JMP = 21;       // JMP pc        : skoči na pc
+    public static final int CJMP = 22;      // CJMP t f      : skoči na t, če pop != 0, sicer na f
+
+    // --- klici ---
+    public static final int CALL = 23;      // CALL f n      : klic funkcije f (indeks v konst. bazenu) z n argumenti
+    public static final int RET = 24;       // RET           : vrnitev iz funkcije
+
+    // --- standardna knjižnica ---
+    public static final int PRINT_INT = 25; // (SL, x)
+    public static final int PRINT_STR = 26; // (SL, x)
+    public static final int PRINT_LOG = 27; // (SL, x)
+    public static final int RAND_INT = 28;  // (SL, min, max)
+    public static final int SEED = 29;      // (SL, x)
+
+    // --- združeni ukazi (pogosti vzorci vmesne kode) ---
+    public static final int LDL = 30;       // LDL o         : push MEM[FP + o]             (MEM(FP ± o))
+    public static final int STL = 31;       // STL o         : MEM[FP + o] = pop            (MOVE(MEM(FP ± o), e))
+    public static final int LDX = 32;       // LDX s         : i = pop; push MEM[pop + i*s] (MEM(b + i*s))
+    public static final int STX = 33;       // STX s         : v = pop; i = pop; MEM[pop + i*s] = v
+    public static final int LDMT = 34;      // LDMT r        : T[r] = MEM[pop]              (MOVE(TEMP, MEM(e)))
+    public static final int LDLT = 35;      // LDLT o r      : T[r] = MEM[FP + o]           (MOVE(TEMP, MEM(FP ± o)))
+
+    private static final String[] names = {
+            "CONST", "FP", "SP", "LDT", "STT", "LDM", "STM", "POP",
+            "ADD", "SUB", "MUL", "DIV", "MOD", "AND", "OR",
+            "EQ", "NEQ", "LT", "GT", "LEQ", "GEQ",
+            "JMP", "CJMP", "CALL", "RET",
+            "PRINT_INT", "PRINT_STR", "PRINT_LOG", "RAND_INT", "SEED",
+            "LDL", "STL", "LDX", "STX", "LDMT", "LDLT"
+    };
+
+    private static final int[] operandCounts = {
+            1, 0, 0, 1, 1, 0, 0, 0,
+            0, 0, 0, 0, 0, 0, 0,
+            0, 0, 0, 0, 0, 0,
+            1, 2, 2, 0,
+            0, 0, 0, 0, 0,
+            1, 1, 1, 1, 1, 2
+    };
+
+    /**
+     * Ime ukaza.
+     */
+    public static String name(int opcode) {
+        return names[opcode];
+    }
+
+    /**
+     * Število operandov, ki v kodi sledijo ukazu.
+     */
+    public static int operandCount(int opcode) {
+        return operandCounts[opcode];
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * @ Description: Program, preveden v ukaze navideznega stroja.
+ */
+
+package compiler.vm;
+
+import static common.RequireNonNull.requireNonNull;
+
+public class Program {
+    /**
+     * Konstantni bazen - funkcije, na katere se sklicujejo ukazi `CALL`.
+     * Na indeksu 0 se nahaja vstopna funkcija programa.
+     */
+    public final BytecodeChunk[] constantPool;
+
+    public Program(BytecodeChunk[] constantPool) {
+        requireNonNull((Object) constantPool);
+        if (constantPool.length == 0) { throw new IllegalArgumentException("Program has no entry point!"); }
+        this.constantPool = constantPool;
+    }
+
+    /**
+     * Vstopna funkcija programa.
+     */
+    public BytecodeChunk main() {
+        return constantPool[0];
+    }
+
+    @Override
+    public String toString() {
+        var sb = new StringBuilder();
+        for (int i = 0; i < constantPool.length; i++) {
+            if (i > 0) sb.append("\n");
+            sb.append("#").append(i).append(" ").append(constantPool[i].toString());
+        }
+        return sb.toString();
+    }
+}
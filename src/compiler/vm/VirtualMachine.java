@@ -0,0 +1,242 @@
+/**
+ * @ Description: Skladovni navidezni stroj, ki izvaja ukaze (bytecode).
+ */
+
+package compiler.vm;
+
+import static common.RequireNonNull.requireNonNull;
+import static compiler.vm.Opcode.*;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Random;
+
+import common.Constants;
+import compiler.gen.Memory;
+
+public class VirtualMachine {
+    /**
+     * Pomnilnik navideznega stroja.
+     */
+    private final Memory memory;
+
+    /**
+     * Izhodni tok, kamor izpisujemo rezultate izvajanja programa.
+     * V primeru, da rezultatov ne želimo izpisovati, nastavimo na `Optional.empty()`.
+     */
+    private final Optional<PrintStream> outputStream;
+
+    /**
+     * Generator naključnih števil.
+     */
+    private Random random;
+
+    /**
+     * Začasne spremenljivke vseh aktivnih klicev.
+     * Vsak klic uporablja zaporedne celice od svoje baze naprej.
+     */
+    private int[] temps = new int[256];
+
+    /**
+     * Sklad operandov.
+     */
+    private int[] stack = new int[64];
+
+    /**
+     * Klicni sklad: funkcija, naslov vrnitve in baza začasnih spremenljivk klicatelja.
+     */
+    private BytecodeChunk[] callChunks = new BytecodeChunk[64];
+    private int[] callPcs = new int[64];
+    private int[] callTempBases = new int[64];
+
+    /**
+     * Število izvedenih ukazov.
+     */
+    private long executedInstructions;
+
+    public VirtualMachine(Memory memory, Optional<PrintStream> outputStream) {
+        requireNonNull(memory, outputStream);
+        this.memory = memory;
+        this.outputStream = outputStream;
+    }
+
+    // --------- izvajanje navideznega stroja ----------
+
+    public void run(Program program) {
+        requireNonNull(program);
+        var main = program.main();
+        int framePointer = memory.size - Constants.WordSize;
+        memory.stM(framePointer + Constants.WordSize, 999); // argument v funkcijo main
+        memory.stM(framePointer - main.oldFPOffset, framePointer); // oldFP
+        execute(program.constantPool, main, framePointer, framePointer);
+    }
+
+    private void execute(BytecodeChunk[] pool, BytecodeChunk chunk, int fp, int sp) {
+        final var out = outputStream.orElse(null);
+        int depth = 0;   // globina klicnega sklada
+        int top = -1;    // vrh sklada operandov
+        int base = 0;    // baza začasnih spremenljivk trenutnega klica
+
+        // Vstop v funkcijo `main`
+        memory.stW(sp - chunk.oldFPOffset, fp);
+        fp = sp;
+        sp -= chunk.frameSize;
+        ensureTemps(chunk.tempCount);
+        ensureStack(chunk.maxStack);
+
+        int[] code = chunk.code;
+        int[] temps = this.temps;
+        int[] stack = this.stack;
+        int pc = 0;
+        long executed = 0;
+
+        while (true) {
+            executed++;
+            switch (code[pc++]) {
+                case CONST -> stack[++top] = code[pc++];
+                case FP -> stack[++top] = fp;
+                case SP -> stack[++top] = sp;
+                case LDT -> stack[++top] = temps[base + code[pc++]];
+                case STT -> temps[base + code[pc++]] = stack[top--];
+                case LDM -> stack[top] = memory.ldW(stack[top]);
+                case STM -> {
+                    memory.stW(stack[top - 1], stack[top]);
+                    top -= 2;
+                }
+                case POP -> top--;
+                case ADD -> { top--; stack[top] = stack[top] + stack[top + 1]; }
+                case SUB -> { top--; stack[top] = stack[top] - stack[top + 1]; }
+                case MUL -> { top--; stack[top] = stack[top] * stack[top + 1]; }
+                case DIV -> { top--; stack[top] = stack[top] / stack[top + 1]; }
+                case MOD -> { top--; stack[top] = stack[top] % stack[top + 1]; }
+                case AND -> { top--; stack[top] = toInt(stack[top] != 0 && stack[top + 1] != 0); }
+                case OR -> { top--; stack[top] = toInt(stack[top] != 0 || stack[top + 1] != 0); }
+                case EQ -> { top--; stack[top] = toInt(stack[top] == stack[top + 1]); }
+                case NEQ -> { top--; stack[top] = toInt(stack[top] != stack[top + 1]); }
+                case LT -> { top--; stack[top] = toInt(stack[top] < stack[top + 1]); }
+                case GT -> { top--; stack[top] = toInt(stack[top] > stack[top + 1]); }
+                case LEQ -> { top--; stack[top] = toInt(stack[top] <= stack[top + 1]); }
+                case GEQ -> { top--; stack[top] = toInt(stack[top] >= stack[top + 1]); }
+                case JMP -> pc = code[pc];
+                case CJMP -> pc = stack[top--] != 0 ? code[pc] : code[pc + 1];
+                case CALL -> {
+                    var callee = pool[code[pc]];
+                    int argc = code[pc + 1];
+                    pc += 2;
+                    // Argumente shrani na dno klicnega zapisa klicatelja
+                    for (int i = argc - 1; i >= 0; i--) {
+                        memory.stW(sp + i * Constants.WordSize, stack[top--]);
+                    }
+                    // Shrani stanje klicatelja
+                    if (depth == callChunks.length) {
+                        growCallStack();
+                    }
+                    callChunks[depth] = chunk;
+                    callPcs[depth] = pc;
+                    callTempBases[depth] = base;
+                    depth++;
+                    base += chunk.tempCount;
+                    // Nov klicni zapis
+                    memory.stW(sp - callee.oldFPOffset, fp);
+                    fp = sp;
+                    sp -= callee.frameSize;
+                    chunk = callee;
+                    code = callee.code;
+                    pc = 0;
+                    temps = ensureTemps(base + callee.tempCount);
+                    stack = ensureStack(top + 1 + callee.maxStack);
+                }
+                case RET -> {
+                    // Ponastavi FP in SP na stare vrednosti
+                    sp = fp;
+                    fp = memory.ldW(fp - chunk.oldFPOffset);
+                    if (depth == 0) {
+                        executedInstructions += executed;
+                        return;
+                    }
+                    depth--;
+                    chunk = callChunks[depth];
+                    callChunks[depth] = null;
+                    code = chunk.code;
+                    pc = callPcs[depth];
+                    base = callTempBases[depth];
+                    // Rezultat klica
+                    stack[++top] = memory.ldW(sp);
+                }
+                case PRINT_INT -> {
+                    top -= 1;
+                    if (out != null) out.println(stack[top + 1]);
+                    stack[top] = 0;
+                }
+                case PRINT_STR -> {
+                    top -= 1;
+                    var res = memory.ldM(stack[top + 1]);
+                    if (out != null) out.println("\"" + res + "\"");
+                    stack[top] = 0;
+                }
+                case PRINT_LOG -> {
+                    top -= 1;
+                    if (out != null) out.println(stack[top + 1] != 0);
+                    stack[top] = 0;
+                }
+                case RAND_INT -> {
+                    top -= 2;
+                    stack[top] = random.nextInt(stack[top + 1], stack[top + 2]);
+                }
+                case SEED -> {
+                    top -= 1;
+                    random = new Random(stack[top + 1]);
+                    stack[top] = 0;
+                }
+                case LDL -> stack[++top] = memory.ldW(fp + code[pc++]);
+                case STL -> memory.stW(fp + code[pc++], stack[top--]);
+                case LDX -> { top--; stack[top] = memory.ldW(stack[top] + stack[top + 1] * code[pc++]); }
+                case STX -> {
+                    memory.stW(stack[top - 2] + stack[top - 1] * code[pc++], stack[top]);
+                    top -= 3;
+                }
+                case LDMT -> temps[base + code[pc++]] = memory.ldW(stack[top--]);
+                case LDLT -> {
+                    temps[base + code[pc + 1]] = memory.ldW(fp + code[pc]);
+                    pc += 2;
+                }
+                default -> throw new IllegalStateException("Unknown opcode " + code[pc - 1] + "!");
+            }
+        }
+    }
+
+    /**
+     * @return število do sedaj izvedenih ukazov
+     */
+    public long executedInstructions() {
+        return executedInstructions;
+    }
+
+    // ----------- pomožne funkcije -----------
+
+    private int[] ensureTemps(int size) {
+        if (size > temps.length) {
+            temps = Arrays.copyOf(temps, Math.max(size, temps.length * 2));
+        }
+        return temps;
+    }
+
+    private int[] ensureStack(int size) {
+        if (size > stack.length) {
+            stack = Arrays.copyOf(stack, Math.max(size, stack.length * 2));
+        }
+        return stack;
+    }
+
+    private void growCallStack() {
+        var size = callChunks.length * 2;
+        callChunks = Arrays.copyOf(callChunks, size);
+        callPcs = Arrays.copyOf(callPcs, size);
+        callTempBases = Arrays.copyOf(callTempBases, size);
+    }
+
+    private int toInt(boolean bool) {
+        return bool ? 1 : 0;
+    }
+}
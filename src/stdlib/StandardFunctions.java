@@ -1,25 +1,59 @@
 package stdlib;
 
+import common.Constants;
 import common.Report;
+import compiler.frm.Frame;
 import compiler.parser.ast.expr.Call;
 import compiler.seman.common.NodeDescription;
 import compiler.seman.type.type.Type;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 public class StandardFunctions {
-    public static boolean exists(String name) {
-        for (Functions function : Functions.values()) {
-            if (function.name().equals(name)) {
-                return true;
-            }
+    /**
+     * Funkcije standardne knjižnice; indeks funkcije je enak številki
+     * njenega imena v tabeli imen (<code>NameTable</code> jih doda prve).
+     */
+    private static final Functions[] functions = Functions.values();
+
+    /**
+     * Funkcije standardne knjižnice, indeksirane z imeni njihovih label.
+     */
+    private static final Map<String, Functions> labels = new HashMap<>();
+
+    static {
+        for (var function : functions) {
+            labels.put(function.label, function);
         }
-        return false;
+    }
+
+    /**
+     * Imena funkcij v vrstnem redu, v katerem jih doda <code>NameTable</code>.
+     */
+    public static List<String> names() {
+        var names = new ArrayList<String>();
+        for (Functions function : functions) {
+            names.add(function.name());
+        }
+        return names;
+    }
+
+    /**
+     * Ali ime s podano številko pripada funkciji standardne knjižnice;
+     * velja, ker jih <code>NameTable</code> doda prve, v vrstnem redu
+     * <code>names()</code> (kar ob nastanku tudi preveri).
+     */
+    public static boolean exists(int nameId) {
+        return nameId >= 0 && nameId < functions.length;
     }
 
     @SuppressWarnings("OptionalGetWithoutIsPresent")
     public static void checkType(Call call, NodeDescription<Type> types) {
-        Functions function = get(call.name);
+        Functions function = get(call.nameId);
 
         switch (Objects.requireNonNull(function)) {
             case print_int, seed -> {
@@ -32,7 +66,7 @@ public class StandardFunctions {
                     Report.error(arguments.get(0).position, "SEM: Type mismatch. Expected '" + Type.Atom.Kind.INT +
                             "', got '" + argType.asAtom().get().kind + "'.");
                 }
-                types.store(new Type.Atom(Type.Atom.Kind.INT), call);
+                types.store(Type.Atom.of(Type.Atom.Kind.INT), call);
             }
             case print_str -> {
                 var arguments = call.arguments;
@@ -44,7 +78,7 @@ public class StandardFunctions {
                     Report.error(arguments.get(0).position, "SEM: Type mismatch. Expected '" + Type.Atom.Kind.STR +
                             "', got '" + argType.asAtom().get().kind + "'.");
                 }
-                types.store(new Type.Atom(Type.Atom.Kind.STR), call);
+                types.store(Type.Atom.of(Type.Atom.Kind.STR), call);
             }
             case print_log -> {
                 var arguments = call.arguments;
@@ -56,7 +90,7 @@ public class StandardFunctions {
                     Report.error(arguments.get(0).position, "SEM: Type mismatch. Expected '" + Type.Atom.Kind.LOG +
                             "', got '" + argType.asAtom().get().kind + "'.");
                 }
-                types.store(new Type.Atom(Type.Atom.Kind.LOG), call);
+                types.store(Type.Atom.of(Type.Atom.Kind.LOG), call);
             }
             case rand_int -> {
                 var arguments = call.arguments;
@@ -73,23 +107,48 @@ public class StandardFunctions {
                     Report.error(arguments.get(0).position, "SEM: Type mismatch. Expected '" + Type.Atom.Kind.INT +
                             "', got '" + arg2Type.asAtom().get().kind + "'.");
                 }
-                types.store(new Type.Atom(Type.Atom.Kind.INT), call);
+                types.store(Type.Atom.of(Type.Atom.Kind.INT), call);
             }
             default -> Report.error("StdLib Error: Function '" + function + "' not implemented.");
         }
     }
 
-    public static Functions get(String name) {
-        for (Functions function : Functions.values()) {
-            if (function.name().equals(name)) {
-                return function;
-            }
-        }
-        return null;
+    public static Functions get(int nameId) {
+        return exists(nameId) ? functions[nameId] : null;
+    }
+
+    /**
+     * Funkcija standardne knjižnice, ki jo kliče klic s podano labelo, oz. `null`.
+     */
+    public static Functions get(Frame.Label label) {
+        return labels.get(label.name);
     }
 
-    private enum Functions {
-        print_int, print_str, print_log, // izpisi
-        rand_int, seed // random
+    public enum Functions {
+        print_int(Constants.printIntLabel, 1), print_str(Constants.printStringLabel, 1), print_log(Constants.printLogLabel, 1), // izpisi
+        rand_int(Constants.randIntLabel, 2), seed(Constants.seedLabel, 1); // random
+
+        /**
+         * Ime labele, ki jo kličemo v vmesni kodi.
+         */
+        public final String label;
+
+        /**
+         * Število argumentov funkcije.
+         */
+        public final int arity;
+
+        Functions(String label, int arity) {
+            this.label = label;
+            this.arity = arity;
+        }
+
+        /**
+         * Število argumentov klica v vmesni kodi; prvi je statična povezava,
+         * ki je funkcije standardne knjižnice ne potrebujejo.
+         */
+        public int callArgs() {
+            return arity + 1;
+        }
     }
 }